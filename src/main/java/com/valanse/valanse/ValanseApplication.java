@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.valanse.valanse.repository.jpa")
 @EnableRedisRepositories(basePackages = "com.valanse.valanse.redis")
+@EnableScheduling
 public class ValanseApplication {
 
 	public static void main(String[] args) {
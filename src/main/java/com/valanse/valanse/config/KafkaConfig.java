@@ -2,10 +2,18 @@ package com.valanse.valanse.config;
 
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 
 import java.util.Map;
@@ -22,10 +30,53 @@ public class KafkaConfig {
         return new KafkaAdmin(configs);
     }
 
+    // 아웃박스 릴레이가 한 번에 여러 건을 보내므로 linger 동안 모아 큰 배치로 전송하고, 모든 복제본 확인 후 성공 처리한다.
     @Bean
-    public NewTopic valanseRecommendTopic() {
+    public DefaultKafkaProducerFactoryCustomizer producerFactoryCustomizer(
+            @Value("${valanse.kafka.producer.linger-ms:20}") int lingerMs,
+            @Value("${valanse.kafka.producer.batch-size:65536}") int batchSize) {
+        return producerFactory -> producerFactory.updateConfigs(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, lingerMs,
+                ProducerConfig.BATCH_SIZE_CONFIG, batchSize,
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class // 이벤트는 ChangeEventCodec으로 직접 인코딩한다.
+        ));
+    }
+
+    @Bean
+    public DefaultKafkaConsumerFactoryCustomizer consumerFactoryCustomizer() {
+        return consumerFactory -> consumerFactory.updateConfigs(Map.of(
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class
+        ));
+    }
+
+    // 추천 갱신 이벤트를 묶음으로 받는 컨테이너. 동시성은 리스너의 concurrency 설정을 따르며 파티션 수를 넘지 않는 것이 좋다.
+    // 리스너가 예외를 던지면 기본 에러 핸들러가 묶음을 다시 시도한다.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> recommendBatchListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    @Bean
+    public NewTopic valanseApiTopic(@Value("${valanse.kafka.api-topic.partitions:1}") int partitions) {
         return TopicBuilder.name("valanse-api")
-                .partitions(1)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    // 추천 서버는 사용자 키 없이 보내고 도착 순서대로 세대를 매기므로, 파티션이 여러 개면 한 사용자의 오래된 추천이 새 추천을 덮어쓸 수 있다.
+    // 추천 서버가 userId를 키로 보내기 전까지는 파티션 하나로 순서를 지킨다.
+    @Bean
+    public NewTopic valanseRecommendTopic(@Value("${valanse.kafka.recommend-topic.partitions:1}") int partitions) {
+        return TopicBuilder.name("valanse-recommend")
+                .partitions(partitions)
                 .replicas(1)
                 .build();
     }
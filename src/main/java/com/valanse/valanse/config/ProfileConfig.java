@@ -1,14 +1,22 @@
 package com.valanse.valanse.config;
 
+import com.valanse.valanse.redis.service.QuizDtoCache;
+import com.valanse.valanse.redis.service.RecommendQuizCache;
 import com.valanse.valanse.repository.jpa.*;
 import com.valanse.valanse.security.util.JwtUtil;
 import com.valanse.valanse.service.ImageService.S3ImageService;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
+import com.valanse.valanse.service.QuizService.QuizSearchIndex;
 import com.valanse.valanse.service.QuizService.QuizService;
+import com.valanse.valanse.service.QuizService.QuizSuggestIndex;
 import com.valanse.valanse.service.QuizService.QuizServiceImpl;
+import com.valanse.valanse.service.UserAnswerService.AnsweredQuizIndex;
+import com.valanse.valanse.service.ViewCountService.ViewCountService;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 public class ProfileConfig {
@@ -18,23 +26,37 @@ public class ProfileConfig {
     public QuizService quizService(QuizRepository quizRepository,
                                    QuizCategoryRepository quizCategoryRepository,
                                    UserAnswerRepository userAnswerRepository,
-                                   CategoryStatisticsRepository categoryStatisticsRepository,
                                    S3ImageService s3ImageService,
                                    JwtUtil jwtUtil,
                                    RecommendQuizRepository recommendQuizRepository,
                                    UserCategoryPreferenceRepository userCategoryPreferenceRepository,
-                                   ApplicationEventPublisher applicationEventPublisher
+                                   ApplicationEventPublisher applicationEventPublisher,
+                                   ViewCountService viewCountService,
+                                   QuizCategoryIndex quizCategoryIndex,
+                                   RecommendQuizCache recommendQuizCache,
+                                   QuizDtoCache quizDtoCache,
+                                   AnsweredQuizIndex answeredQuizIndex,
+                                   QuizSearchIndex quizSearchIndex,
+                                   QuizSuggestIndex quizSuggestIndex,
+                                   TransactionTemplate transactionTemplate
 
     ) {
 
         return new QuizServiceImpl(quizRepository,
                 quizCategoryRepository,
                 userAnswerRepository,
-                categoryStatisticsRepository,
                 s3ImageService,
                 jwtUtil,
                 recommendQuizRepository,
                 userCategoryPreferenceRepository,
-                applicationEventPublisher);
+                applicationEventPublisher,
+                viewCountService,
+                quizCategoryIndex,
+                recommendQuizCache,
+                quizDtoCache,
+                answeredQuizIndex,
+                quizSearchIndex,
+                quizSuggestIndex,
+                transactionTemplate);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.valanse.valanse.controller;
 
 import com.valanse.valanse.dto.StatusResponseDto;
+import com.valanse.valanse.service.CategoryStatisticsService.CategoryStatisticsService;
 import com.valanse.valanse.service.QuizCategoryService.QuizCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class QuizCategoryController {
 
     private final QuizCategoryService quizCategoryService;
+    private final CategoryStatisticsService categoryStatisticsService;
 
     @Operation(summary = "카테고리에 속한 퀴즈 조회",
             description = "카테고리에 속한 모든 퀴즈를 조회합니다.")
@@ -46,4 +48,24 @@ public class QuizCategoryController {
     ) {
         return ResponseEntity.ok(StatusResponseDto.success(quizCategoryService.searchCategory(keyword)));
     }
+
+    @Operation(summary = "전체 카테고리 통계 조회",
+            description = "카테고리별 답변 수, 선호도 합·평균·분산·최소·최대를 조회합니다. 아직 DB에 반영되지 않은 답변까지 포함합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class)))
+    })
+    @GetMapping("/statistics")
+    public ResponseEntity<StatusResponseDto> getAllStatistics() {
+        return ResponseEntity.ok(StatusResponseDto.success(categoryStatisticsService.getAllStatistics()));
+    }
+
+    @Operation(summary = "카테고리 통계 조회",
+            description = "카테고리의 통계와 최근 시간대별 답변 수·평균 선호도 추이를 조회합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class)))
+    })
+    @GetMapping("/{category}/statistics")
+    public ResponseEntity<StatusResponseDto> getStatistics(@PathVariable String category) {
+        return ResponseEntity.ok(StatusResponseDto.success(categoryStatisticsService.getStatistics(category)));
+    }
 }
\ No newline at end of file
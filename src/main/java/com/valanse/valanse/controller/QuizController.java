@@ -4,6 +4,8 @@ import com.valanse.valanse.dto.QuizRegisterDto;
 import com.valanse.valanse.dto.StatusResponseDto;
 import com.valanse.valanse.dto.UserAnswerDto;
 import com.valanse.valanse.service.QuizService.QuizService;
+import com.valanse.valanse.service.RandomQuizService.RandomQuizService;
+import com.valanse.valanse.service.TrendingService.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -29,6 +31,44 @@ import java.util.List;
 public class QuizController {
 
     private final QuizService quizService;
+    private final RandomQuizService randomQuizService;
+    private final TrendingService trendingService;
+
+    @Operation(summary = "임의의 퀴즈를 조회합니다.",
+            description = "등록된 퀴즈 중 하나를 무작위로 조회합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "조회할 수 있는 퀴즈가 없음")
+    })
+    @GetMapping("/random")
+    public ResponseEntity<StatusResponseDto> getRandomQuiz() {
+        return ResponseEntity.ok(StatusResponseDto.success(randomQuizService.getRandomQuiz()));
+    }
+
+    @Operation(summary = "아직 풀지 않은 임의의 퀴즈를 조회합니다.",
+            description = "사용자가 답변하지 않은 퀴즈 중 하나를 무작위로 조회합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "풀지 않은 퀴즈가 없음")
+    })
+    @GetMapping("/random/unanswered")
+    public ResponseEntity<StatusResponseDto> getRandomUnansweredQuiz(
+            @Parameter(description = "HTTP 요청 객체", hidden = true)
+            HttpServletRequest httpServletRequest
+    ) {
+        return ResponseEntity.ok(StatusResponseDto.success(randomQuizService.getRandomUnansweredQuiz(httpServletRequest)));
+    }
+
+    @Operation(summary = "카테고리에 속한 임의의 퀴즈를 조회합니다.",
+            description = "지정된 카테고리의 퀴즈 중 하나를 무작위로 조회합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "해당 카테고리에 퀴즈가 없음")
+    })
+    @GetMapping("/random/category/{category}")
+    public ResponseEntity<StatusResponseDto> getRandomQuizByCategory(@PathVariable("category") String category) {
+        return ResponseEntity.ok(StatusResponseDto.success(randomQuizService.getRandomQuizByCategory(category)));
+    }
 
     @Operation(summary = "특정 퀴즈를 조회합니다.",
             description = "지정된 ID로 퀴즈 정보를 조회합니다.")
@@ -42,13 +82,19 @@ public class QuizController {
     }
 
     @Operation(summary = "모든 퀴즈를 조회합니다.",
-            description = "모든 퀴즈 정보를 조회합니다.")
+            description = "모든 퀴즈 정보를 퀴즈 식별자 순으로 페이지 단위 조회합니다. 다음 페이지는 응답의 nextCursor로 요청합니다.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class)))
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서")
     })
     @GetMapping("/all")
-    public ResponseEntity<StatusResponseDto> getAllQuiz() {
-        return ResponseEntity.ok(StatusResponseDto.success(quizService.getAllQuiz()));
+    public ResponseEntity<StatusResponseDto> getAllQuiz(
+            @Parameter(description = "이전 페이지 응답의 nextCursor, 첫 페이지는 생략")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (기본 20, 최대 100)")
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(StatusResponseDto.success(quizService.getAllQuiz(cursor, size)));
     }
 
     @Operation(summary = "새로운 퀴즈를 등록합니다.",
@@ -143,27 +189,52 @@ public class QuizController {
     }
 
     @Operation(summary = "퀴즈 생성 시간 순 정렬",
-            description = "퀴즈를 생성 시간이 최신인 순으로 정렬")
+            description = "퀴즈를 생성 시간이 최신인 순으로 정렬하여 페이지 단위로 조회")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "정렬 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class)))
+            @ApiResponse(responseCode = "200", description = "정렬 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서")
     })
     @GetMapping("/sort-by-created-at")
-    public ResponseEntity<StatusResponseDto> sortQuizByCreatedAt() {
-        return ResponseEntity.ok(StatusResponseDto.success(quizService.sortQuizByCreatedAt()));
+    public ResponseEntity<StatusResponseDto> sortQuizByCreatedAt(
+            @Parameter(description = "이전 페이지 응답의 nextCursor, 첫 페이지는 생략")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (기본 20, 최대 100)")
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(StatusResponseDto.success(quizService.sortQuizByCreatedAt(cursor, size)));
     }
 
     @Operation(summary = "퀴즈 선호도 순 정렬",
-            description = "퀴즈를 선호도가 높은 순으로 정렬")
+            description = "퀴즈를 선호도가 높은 순으로 정렬하여 페이지 단위로 조회")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "정렬 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class)))
+            @ApiResponse(responseCode = "200", description = "정렬 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서")
     })
     @GetMapping("/sort-by-preference")
-    public ResponseEntity<StatusResponseDto> sortQuizByPreference() {
-        return ResponseEntity.ok(StatusResponseDto.success(quizService.sortQuizByPreference()));
+    public ResponseEntity<StatusResponseDto> sortQuizByPreference(
+            @Parameter(description = "이전 페이지 응답의 nextCursor, 첫 페이지는 생략")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (기본 20, 최대 100)")
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(StatusResponseDto.success(quizService.sortQuizByPreference(cursor, size)));
+    }
+
+    @Operation(summary = "급상승 퀴즈 조회",
+            description = "최근 조회·답변·댓글에 가중치를 주고 시간이 지날수록 감쇠시킨 점수가 높은 순으로 퀴즈를 조회합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class)))
+    })
+    @GetMapping("/trending")
+    public ResponseEntity<StatusResponseDto> getTrendingQuizzes(
+            @Parameter(description = "조회할 개수 (기본 20, 최대 100)")
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(StatusResponseDto.success(trendingService.getTrendingQuizzes(size)));
     }
 
     @Operation(summary = "퀴즈 검색",
-            description = "지정된 키워드를 포함하는 퀴즈 검색")
+            description = "본문, 선택지·설명, 카테고리에서 키워드와 일치하는 퀴즈를 관련도순으로 페이지 단위 검색합니다. 다음 페이지는 응답의 nextCursor로 요청합니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "검색 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 형식")
@@ -171,9 +242,29 @@ public class QuizController {
     @GetMapping("/search")
     public ResponseEntity<StatusResponseDto> searchQuiz(
             @Parameter(description = "퀴즈 검색을 위한 키워드")
-            @RequestParam String keyword
+            @RequestParam String keyword,
+            @Parameter(description = "이전 페이지 응답의 nextCursor, 첫 페이지는 생략")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (기본 20, 최대 100)")
+            @RequestParam(required = false) Integer size
     ) {
-        return ResponseEntity.ok(StatusResponseDto.success(quizService.searchQuiz(keyword)));
+        return ResponseEntity.ok(StatusResponseDto.success(quizService.searchQuiz(keyword, cursor, size)));
+    }
+
+    @Operation(summary = "검색어 자동완성",
+            description = "입력 중인 접두사로 시작하는 퀴즈 제목(조회수 순)과 카테고리(소속 퀴즈 조회수 합 순)를 조회합니다. 한글은 자모 단위로 맞춰 입력 중인 글자도 찾습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 형식")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<StatusResponseDto> suggest(
+            @Parameter(description = "입력 중인 검색어")
+            @RequestParam String prefix,
+            @Parameter(description = "종류별 최대 개수 (기본·최대 10)")
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(StatusResponseDto.success(quizService.suggest(prefix, size)));
     }
 
     @Operation(summary = "사용자의 답변과 카테고리 통계 저장",
@@ -249,4 +340,21 @@ public class QuizController {
 
         return ResponseEntity.ok(StatusResponseDto.success(hasAnswer ? "User has answered the quiz" : "User has not answered the quiz"));
     }
+
+    @Operation(summary = "여러 퀴즈 풀이 조회",
+            description = "요청한 퀴즈들 중 해당 유저가 푼 퀴즈의 식별자 목록을 반환")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회", content = @Content(schema = @Schema(implementation = StatusResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 형식"),
+    })
+    @GetMapping("/check-user-answers")
+    public ResponseEntity<StatusResponseDto> checkUserAnswers(
+            @Parameter(description = "확인할 퀴즈 식별자 목록 (예: 1,2,3)")
+            @RequestParam List<Integer> quizIds,
+            @Parameter(description = "HTTP 요청 객체", hidden = true)
+            HttpServletRequest httpServletRequest
+    ) {
+
+        return ResponseEntity.ok(StatusResponseDto.success(quizService.checkUserAnswers(httpServletRequest, quizIds)));
+    }
 }
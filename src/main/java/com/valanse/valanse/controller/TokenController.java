@@ -2,7 +2,6 @@ package com.valanse.valanse.controller;
 
 import com.valanse.valanse.dto.StatusResponseDto;
 import com.valanse.valanse.dto.response.TokenResponseStatus;
-import com.valanse.valanse.redis.repository.RefreshTokenRepository;
 import com.valanse.valanse.redis.entity.RefreshToken;
 import com.valanse.valanse.redis.service.TokenService;
 import com.valanse.valanse.security.util.JwtUtil;
@@ -30,7 +29,6 @@ import java.util.Map;
 public class TokenController {
 
 
-    private final RefreshTokenRepository refreshTokenRepository;
     private final TokenService tokenService;
     private final JwtUtil jwtUtil;
 
@@ -104,7 +102,7 @@ public class TokenController {
             @RequestHeader("Authorization")
             @Parameter(description = "JWT 액세스 토큰", required = true, example = "eyJ...HAkYY4") final String accessToken) {
         try {
-            RefreshToken refreshToken = refreshTokenRepository.findByAccessToken(accessToken)
+            RefreshToken refreshToken = tokenService.findRefreshToken(accessToken)
                     .orElseThrow(() -> new EntityNotFoundException("Refresh Token not found for provided Access Token"));
 
             if (!jwtUtil.verifyToken(refreshToken.getRefreshToken())) {
@@ -112,8 +110,10 @@ public class TokenController {
             }
 
             String newAccessToken = jwtUtil.generateAccessToken(refreshToken.getUserIdx(), jwtUtil.getUserRole(refreshToken.getRefreshToken()));
-            refreshToken.updateAccessToken(newAccessToken);
-            refreshTokenRepository.save(refreshToken);
+            if (!tokenService.updateAccessToken(accessToken, newAccessToken)) {
+                // 같은 엑세스 토큰으로 들어온 다른 재발급 요청이 먼저 처리되었다.
+                throw new EntityNotFoundException("Refresh Token was already used for provided Access Token");
+            }
             return ResponseEntity.ok(TokenResponseStatus.success(newAccessToken));
 
         } catch (EntityNotFoundException e) {
@@ -0,0 +1,16 @@
+package com.valanse.valanse.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryStatisticsBucketDto {
+    private LocalDateTime hour; // 구간 시작 시각 (정시)
+    private Long totalAnswers; // 구간 동안의 답변 수
+    private Double avgPreference; // 구간 동안의 평균 선호도
+}
@@ -0,0 +1,20 @@
+package com.valanse.valanse.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryStatisticsDeltaDto {
+    private String category; // 카테고리
+    private LocalDateTime bucketHour; // 시간대별 집계 구간, 전체 누계면 null
+    private Long totalAnswers; // 답변 수
+    private Long totalScore; // 선호도 점수 합
+    private Long totalScoreSquares; // 선호도 점수 제곱의 합
+    private Integer minScore; // 가장 낮은 선호도 점수, 답변이 없으면 null
+    private Integer maxScore; // 가장 높은 선호도 점수, 답변이 없으면 null
+}
@@ -0,0 +1,21 @@
+package com.valanse.valanse.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryStatisticsDto {
+    private String category; // 카테고리
+    private Long totalAnswers; // 전체 사용자가 푼 문제 수
+    private Long totalScore; // 전체 사용자의 총 선호도 점수
+    private Double avgPreference; // 평균 선호도, 답변이 없으면 null
+    private Double variance; // 선호도 분산, 답변이 없으면 null
+    private Integer minScore; // 가장 낮은 선호도 점수
+    private Integer maxScore; // 가장 높은 선호도 점수
+    private List<CategoryStatisticsBucketDto> hourly; // 최근 시간대별 추이 (오래된 순), 목록 조회에서는 null
+}
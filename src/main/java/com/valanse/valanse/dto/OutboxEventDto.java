@@ -0,0 +1,14 @@
+package com.valanse.valanse.dto;
+
+import lombok.*;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEventDto {
+    private Long outboxId; // 아웃박스 식별자
+    private String eventType; // 이벤트 종류
+    private byte[] payload; // 바이너리로 인코딩한 이벤트
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class QuizDto {
     private Integer quizId; // 문제 식별자
     private Integer authorUserId; // 문제를 등록한 사용자 식별자
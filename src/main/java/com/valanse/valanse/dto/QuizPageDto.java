@@ -0,0 +1,16 @@
+package com.valanse.valanse.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizPageDto {
+    private List<QuizDto> quizzes; // 현재 페이지의 퀴즈 목록
+    private String nextCursor; // 다음 페이지 요청에 사용할 커서, 마지막 페이지면 null
+    private Boolean hasNext; // 다음 페이지 존재 여부
+}
@@ -0,0 +1,14 @@
+package com.valanse.valanse.dto;
+
+import lombok.*;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSuggestionDto {
+    private Integer quizId;
+    private String content; // 퀴즈 본문 (제목)
+    private Long viewCount; // 자동완성 정렬에 사용한 조회수
+}
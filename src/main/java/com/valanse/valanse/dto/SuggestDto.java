@@ -0,0 +1,15 @@
+package com.valanse.valanse.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestDto {
+    private List<QuizSuggestionDto> quizzes; // 조회수 순 퀴즈 제목
+    private List<String> categories; // 소속 퀴즈 조회수 합 순 카테고리
+}
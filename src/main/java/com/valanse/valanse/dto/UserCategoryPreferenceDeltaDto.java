@@ -0,0 +1,15 @@
+package com.valanse.valanse.dto;
+
+import lombok.*;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserCategoryPreferenceDeltaDto {
+    private Integer userId; // 사용자 식별자
+    private String category; // 카테고리
+    private Integer answerCount; // 더할 답변 수
+    private Integer totalPreference; // 더할 선호도 합
+}
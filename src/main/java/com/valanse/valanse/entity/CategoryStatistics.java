@@ -2,7 +2,6 @@ package com.valanse.valanse.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.Formula;
 
 @Entity
 @Getter
@@ -18,6 +17,12 @@ public class CategoryStatistics {
 
     private Integer totalScore; // 해당 카테고리에서 전체 사용자의 총 선호도 점수
 
-    @Formula("total_score / total_answers")
-    private Float avgPreference; // 해당 카테고리에서 전체 사용자의 평균 선호도
+    private Long totalScoreSquares; // 선호도 점수 제곱의 합, 분산 계산용
+
+    private Integer minScore; // 해당 카테고리에서 가장 낮은 선호도 점수
+
+    private Integer maxScore; // 해당 카테고리에서 가장 높은 선호도 점수
+
+    @Column(insertable = false, updatable = false)
+    private Float avgPreference; // 해당 카테고리에서 전체 사용자의 평균 선호도 (STORED 생성 열)
 }
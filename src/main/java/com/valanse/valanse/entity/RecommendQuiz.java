@@ -19,7 +19,12 @@ public class RecommendQuiz {
     @Id
     private Integer userId;
 
+    @Id
+    private Long generation; // 추천 세트 세대
+
     @Id
     private Integer quizId;
+
+    private Integer position; // 추천 순서
 }
 
@@ -12,5 +12,6 @@ import java.io.Serializable;
 @EqualsAndHashCode
 public class RecommendQuizId implements Serializable{
     private Integer userId;
+    private Long generation;
     private Integer quizId;
 }
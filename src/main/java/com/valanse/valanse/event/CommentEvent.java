@@ -0,0 +1,13 @@
+package com.valanse.valanse.event;
+
+public class CommentEvent {
+    private final Integer quizId;
+
+    public CommentEvent(Integer quizId) {
+        this.quizId = quizId;
+    }
+
+    public Integer getQuizId() {
+        return quizId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.valanse.valanse.event;
+
+import com.valanse.valanse.service.TrendingService.TrendingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentEventListener {
+
+    private final TrendingService trendingService;
+
+    // 롤백된 댓글이 급상승 점수를 올리지 않도록 커밋된 뒤에 반영한다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleCommentEvent(CommentEvent event) {
+        try {
+            trendingService.recordComment(event.getQuizId());
+        } catch (Exception e) {
+            log.error("Error handling comment event", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.valanse.valanse.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 이 인스턴스에서 커밋된 퀴즈 변경을 Redis pub/sub으로 다른 인스턴스에 전달한다.
+ * 받은 쪽은 remote 플래그가 붙은 QuizChangeEvent로 다시 발행해 각자의 메모리 인덱스만 갱신한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuizChangeBroadcaster {
+
+    private static final String CHANNEL = "quiz:changed";
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                JsonNode node = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+                if (instanceId.equals(node.path("origin").asText())) {
+                    return;
+                }
+
+                List<String> categories = new ArrayList<>();
+                node.path("categories").forEach(category -> categories.add(category.asText()));
+                applicationEventPublisher.publishEvent(new QuizChangeEvent(
+                        QuizChangeEvent.Type.valueOf(node.path("type").asText()),
+                        node.path("quizId").asInt(),
+                        categories,
+                        true));
+            } catch (Exception e) {
+                log.error("Failed to handle remote quiz change message", e);
+            }
+        }, new ChannelTopic(CHANNEL));
+    }
+
+    public void publish(QuizChangeEvent event) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("origin", instanceId);
+        message.put("type", event.getType().name());
+        message.put("quizId", event.getQuizId());
+        message.put("categories", event.getCategories());
+
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (DataAccessException e) {
+            // 다른 인스턴스는 카테고리 인덱스와 랜덤 퀴즈 풀의 주기적인 재구성으로 따라잡는다.
+            log.warn("Failed to broadcast quiz change for quiz ID {}: {}", event.getQuizId(), e.getMessage());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize quiz change for quiz ID {}", event.getQuizId(), e);
+        }
+    }
+}
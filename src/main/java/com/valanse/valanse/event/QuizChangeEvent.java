@@ -0,0 +1,43 @@
+package com.valanse.valanse.event;
+
+import java.util.List;
+
+// 퀴즈 등록/수정/삭제가 커밋된 뒤 메모리 인덱스들을 갱신하기 위한 이벤트
+public class QuizChangeEvent {
+
+    public enum Type {
+        REGISTERED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Integer quizId;
+    private final List<String> categories; // 변경 후 퀴즈의 카테고리 목록, 삭제 시 빈 목록
+    private final boolean remote; // 다른 인스턴스에서 커밋되어 pub/sub으로 전달된 이벤트인지 여부
+
+    public QuizChangeEvent(Type type, Integer quizId, List<String> categories) {
+        this(type, quizId, categories, false);
+    }
+
+    public QuizChangeEvent(Type type, Integer quizId, List<String> categories, boolean remote) {
+        this.type = type;
+        this.quizId = quizId;
+        this.categories = List.copyOf(categories);
+        this.remote = remote;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Integer getQuizId() {
+        return quizId;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+}
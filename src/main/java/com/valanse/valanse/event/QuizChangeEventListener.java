@@ -0,0 +1,80 @@
+package com.valanse.valanse.event;
+
+import com.valanse.valanse.redis.service.QuizDtoCache;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
+import com.valanse.valanse.service.QuizService.QuizSearchIndex;
+import com.valanse.valanse.service.QuizService.QuizSuggestIndex;
+import com.valanse.valanse.service.RandomQuizService.RandomQuizService;
+import com.valanse.valanse.service.TrendingService.TrendingService;
+import com.valanse.valanse.service.ViewCountService.ViewCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuizChangeEventListener {
+
+    private final QuizCategoryIndex quizCategoryIndex;
+    private final RandomQuizService randomQuizService;
+    private final ViewCountService viewCountService;
+    private final QuizDtoCache quizDtoCache;
+    private final QuizSearchIndex quizSearchIndex;
+    private final QuizSuggestIndex quizSuggestIndex;
+    private final TrendingService trendingService;
+    private final QuizChangeBroadcaster quizChangeBroadcaster;
+
+    // 이 인스턴스에서 커밋된 변경: 공유 캐시 무효화와 다른 인스턴스로의 전파는 여기서만 한다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleQuizChangeEvent(QuizChangeEvent event) {
+        try {
+            if (event.getType() != QuizChangeEvent.Type.REGISTERED) {
+                quizDtoCache.invalidate(event.getQuizId());
+            }
+            applyLocally(event);
+        } catch (Exception e) {
+            log.error("Error handling quiz change event for quiz ID: {}", event.getQuizId(), e);
+        }
+        quizChangeBroadcaster.publish(event);
+    }
+
+    // 다른 인스턴스에서 커밋된 변경: 이 인스턴스의 메모리 인덱스만 갱신한다.
+    @EventListener(condition = "#event.remote")
+    public void handleRemoteQuizChangeEvent(QuizChangeEvent event) {
+        try {
+            applyLocally(event);
+        } catch (Exception e) {
+            log.error("Error handling remote quiz change event for quiz ID: {}", event.getQuizId(), e);
+        }
+    }
+
+    private void applyLocally(QuizChangeEvent event) {
+        switch (event.getType()) {
+            case REGISTERED -> {
+                quizCategoryIndex.put(event.getQuizId(), event.getCategories());
+                randomQuizService.addQuiz(event.getQuizId(), event.getCategories());
+                quizSearchIndex.index(event.getQuizId(), event.getCategories());
+                quizSuggestIndex.putQuiz(event.getQuizId(), event.getCategories());
+            }
+            case UPDATED -> {
+                quizCategoryIndex.put(event.getQuizId(), event.getCategories());
+                randomQuizService.updateQuizCategories(event.getQuizId(), event.getCategories());
+                quizSearchIndex.index(event.getQuizId(), event.getCategories());
+                quizSuggestIndex.putQuiz(event.getQuizId(), event.getCategories());
+            }
+            case DELETED -> {
+                quizCategoryIndex.remove(event.getQuizId());
+                randomQuizService.removeQuiz(event.getQuizId());
+                viewCountService.removeQuiz(event.getQuizId());
+                quizSearchIndex.delete(event.getQuizId());
+                quizSuggestIndex.removeQuiz(event.getQuizId());
+                // 다른 인스턴스에 남아 있던 점수가 다시 더해지지 않도록 모든 인스턴스에서 지운다.
+                trendingService.removeQuiz(event.getQuizId());
+            }
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.valanse.valanse.event;
 
-import com.valanse.valanse.service.UserAnswerService.UserAnswerService;
+import com.valanse.valanse.entity.UserAnswer;
+import com.valanse.valanse.redis.service.QuizDtoCache;
+import com.valanse.valanse.redis.service.RecommendQuizCache;
+import com.valanse.valanse.service.CategoryStatisticsService.CategoryStatisticsService;
+import com.valanse.valanse.service.TrendingService.TrendingService;
+import com.valanse.valanse.service.UserAnswerService.AnsweredQuizIndex;
+import com.valanse.valanse.service.UserAnswerService.UserAnswerBatchProcessor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -12,14 +18,43 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @RequiredArgsConstructor
 public class UserAnswerEventListener {
 
-    private final UserAnswerService userAnswerService;
+    private final UserAnswerBatchProcessor userAnswerBatchProcessor;
+    private final RecommendQuizCache recommendQuizCache;
+    private final QuizDtoCache quizDtoCache;
+    private final AnsweredQuizIndex answeredQuizIndex;
+    private final CategoryStatisticsService categoryStatisticsService;
+    private final TrendingService trendingService;
 
+    // 각 단계는 서로 독립적이므로, 한 단계가 실패해도 나머지는 그대로 진행한다.
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserAnswerEvent(UserAnswerEvent event) {
+        UserAnswer userAnswer = event.getUserAnswer();
+
+        // 선호도 갱신은 배치 처리기로 넘기고 요청 스레드는 바로 반환한다.
+        runStep("answer batch", userAnswer, () -> userAnswerBatchProcessor.submit(userAnswer));
+
+        runStep("category statistics", userAnswer,
+                () -> categoryStatisticsService.recordAnswer(userAnswer.getQuizId(), userAnswer.getPreference()));
+
+        runStep("trending", userAnswer, () -> trendingService.recordAnswer(userAnswer.getQuizId()));
+
+        runStep("answered quiz index", userAnswer,
+                () -> answeredQuizIndex.add(userAnswer.getUserId(), userAnswer.getQuizId()));
+
+        // 답변한 퀴즈는 추천 집합에서 바로 뺀다.
+        runStep("recommend cache", userAnswer,
+                () -> recommendQuizCache.removeAnswered(userAnswer.getUserId(), userAnswer.getQuizId()));
+
+        // 퀴즈 선호도가 바뀌었으므로 캐시된 퀴즈를 무효화 대상으로 표시한다.
+        runStep("quiz cache", userAnswer, () -> quizDtoCache.markDirty(userAnswer.getQuizId()));
+    }
+
+    private void runStep(String step, UserAnswer userAnswer, Runnable action) {
         try {
-            userAnswerService.updateUserCategoryPreference(event.getUserAnswer());
+            action.run();
         } catch (Exception e) {
-            log.error("Error handling user answer event", e);
+            log.error("Error applying user answer to {} (user ID: {}, quiz ID: {})",
+                    step, userAnswer.getUserId(), userAnswer.getQuizId(), e);
         }
     }
-}
\ No newline at end of file
+}
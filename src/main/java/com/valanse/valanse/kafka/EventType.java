@@ -0,0 +1,44 @@
+package com.valanse.valanse.kafka;
+
+import java.util.Arrays;
+
+/**
+ * valanse-api / valanse-recommend 토픽에서 주고받는 이벤트 종류.
+ * code는 바이너리 이벤트에 1바이트로 기록되므로 한 번 정한 값은 바꾸지 않는다.
+ */
+public enum EventType {
+    USER_CATEGORY_PREFERENCE_CHANGED(1),
+    FAVORITE_CATEGORY_CHANGED(2),
+    RECOMMEND_QUIZ_CHANGED(3),
+    USER_CATEGORY_PREFERENCES_CHANGED(4); // 답변 한 건으로 바뀐 카테고리들을 한 번에 알린다.
+
+    private static final EventType[] BY_CODE = new EventType[256];
+
+    static {
+        Arrays.stream(values()).forEach(type -> BY_CODE[type.code] = type);
+    }
+
+    private final int code;
+
+    EventType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    // 알 수 없는 코드면 null
+    public static EventType fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    // 알 수 없는 이름이면 null
+    public static EventType fromName(String name) {
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +0,0 @@
-package com.valanse.valanse.kafka;
-
-public final class EventTypes {
-    public static final String USER_CATEGORY_PREFERENCE_CHANGED = "USER_CATEGORY_PREFERENCE_CHANGED";
-    public static final String FAVORITE_CATEGORY_CHANGED = "FAVORITE_CATEGORY_CHANGED";
-    public static final String RECOMMEND_QUIZ_CHANGED = "RECOMMEND_QUIZ_CHANGED";
-}
\ No newline at end of file
@@ -1,11 +1,17 @@
 package com.valanse.valanse.kafka;
 
+import com.valanse.valanse.kafka.codec.ChangeEvent;
+import com.valanse.valanse.kafka.codec.ChangeEventCodec;
 import com.valanse.valanse.service.RecommendService.RecommendService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -14,46 +20,73 @@ public class KafkaConsumerService {
     private static final String SERVER_NAME_CONSUME = "valanse-recommend";
     private final RecommendService recommendService;
 
-    @KafkaListener(topics = SERVER_NAME_CONSUME)
-    public void consume(String message) {
-        String[] parts = message.split("\\|", 2);
-        String eventType = parts[0];
-        String data = parts[1];
+    /**
+     * 바이너리 이벤트와 기존 문자열 이벤트를 묶음 단위로 받는다.
+     * 같은 묶음 안에서 한 사용자에 대한 이벤트가 여러 번 오면 마지막 것만 반영한다.
+     * 묶음 사이의 순서는 파티션 하나를 한 스레드가 읽어서 지킨다. (이벤트에 사용자 키가 없어 파티션을 나누면 순서가 섞인다.)
+     */
+    @KafkaListener(topics = SERVER_NAME_CONSUME,
+            containerFactory = "recommendBatchListenerContainerFactory",
+            concurrency = "${valanse.kafka.recommend-consumer.concurrency:1}",
+            properties = "max.poll.records=${valanse.kafka.recommend-consumer.max-poll-records:500}")
+    public void consume(List<byte[]> messages) {
+        Map<Integer, String> favoriteCategoryByUser = new LinkedHashMap<>();
+        Map<Integer, int[]> recommendQuizIdsByUser = new LinkedHashMap<>();
 
-        switch (eventType) {
-            case EventTypes.FAVORITE_CATEGORY_CHANGED:
-                handleFavoriteCategoryChanged(data);
-                return;
+        for (byte[] message : messages) {
+            ChangeEvent event;
+            try {
+                event = ChangeEventCodec.decode(message);
+            } catch (IllegalArgumentException e) {
+                log.error("Malformed event ({} bytes), skipping", message.length, e);
+                continue;
+            }
 
-            case EventTypes.RECOMMEND_QUIZ_CHANGED:
-                handleRecommendQuizChange(data);
-                return;
+            if (event.getType() == null) {
+                log.warn("Unknown event type: {}", event);
+                continue;
+            }
 
-            default:
-                log.warn("Unknown event type: {}", eventType);
-                return;
+            switch (event.getType()) {
+                case FAVORITE_CATEGORY_CHANGED -> favoriteCategoryByUser.put(event.getUserId(), event.getCategory());
+                case RECOMMEND_QUIZ_CHANGED -> recommendQuizIdsByUser.put(event.getUserId(), event.getQuizIds());
+                default -> log.warn("Unexpected event type: {}", event.getType());
+            }
         }
+
+        handleFavoriteCategoryChanged(favoriteCategoryByUser);
+        handleRecommendQuizChange(recommendQuizIdsByUser);
+        log.debug("Consumed {} events: {} favorite category users, {} recommend quiz users",
+                messages.size(), favoriteCategoryByUser.size(), recommendQuizIdsByUser.size());
     }
 
-    private void handleFavoriteCategoryChanged(String data) {
-        try {
-            // data 내용을 기반으로 최애 카테고리를 변경한다.
-            recommendService.updateFavoriteCategory(data);
+    private void handleFavoriteCategoryChanged(Map<Integer, String> favoriteCategoryByUser) {
+        favoriteCategoryByUser.forEach((userId, category) -> {
+            try {
+                // 이벤트 내용을 기반으로 최애 카테고리를 변경한다.
+                recommendService.updateFavoriteCategory(userId, category);
 
-        } catch (Exception e) {
-            log.error("Error handling favorite category change", e);
+            } catch (Exception e) {
+                log.error("Error handling favorite category change", e);
 
-        }
+            }
+        });
     }
 
-    private void handleRecommendQuizChange(String data) {
+    private void handleRecommendQuizChange(Map<Integer, int[]> recommendQuizIdsByUser) {
+        if (recommendQuizIdsByUser.isEmpty()) {
+            return;
+        }
+
         try {
-            // data 내용을 기반으로 추천 문제를 변경한다.
-            recommendService.updateRecommendQuiz(data);
+            // 이벤트 내용을 기반으로 추천 문제를 한 번에 변경한다.
+            recommendService.updateRecommendQuizzes(recommendQuizIdsByUser);
 
         } catch (Exception e) {
-            log.error("Error handling recommend quiz change", e);
+            // 오프셋을 커밋하지 않고 컨테이너의 에러 핸들러가 묶음을 다시 시도하도록 던진다.
+            log.error("Error handling recommend quiz change for {} users", recommendQuizIdsByUser.size(), e);
+            throw e;
         }
     }
 
-}
\ No newline at end of file
+}
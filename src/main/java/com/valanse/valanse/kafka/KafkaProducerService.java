@@ -1,22 +1,37 @@
 package com.valanse.valanse.kafka;
 
-import lombok.RequiredArgsConstructor;
+import com.valanse.valanse.kafka.codec.ChangeEventCodec;
+import com.valanse.valanse.kafka.codec.LegacyChangeEventFormat;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class KafkaProducerService {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-
     private static final String SERVER_NAME_PRODUCE = "valanse-api";
 
-    public void sendChangeEvent(String eventType, String data) {
-        String message = String.format("%s|%s", eventType, data);
-        kafkaTemplate.send(SERVER_NAME_PRODUCE, message);
-        log.info("Sent message: {}", message);
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final boolean legacyFormat;
+
+    // 추천 서버는 아직 기존 문자열만 읽으므로 기본은 legacy다. 추천 서버가 바이너리 형식과 USER_CATEGORY_PREFERENCES_CHANGED를 읽게 된 뒤에 valanse.kafka.event-format=binary 로 바꾼다.
+    public KafkaProducerService(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                @Value("${valanse.kafka.event-format:legacy}") String eventFormat) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.legacyFormat = !"binary".equalsIgnoreCase(eventFormat);
+    }
+
+    // 전송 결과를 기다리지 않고 반환한다. 프로듀서가 linger 동안 모아 배치로 보낸다.
+    public CompletableFuture<SendResult<String, byte[]>> send(byte[] encodedEvent) {
+        byte[] message = legacyFormat
+                ? LegacyChangeEventFormat.write(ChangeEventCodec.decode(encodedEvent)).getBytes(StandardCharsets.UTF_8)
+                : encodedEvent;
+        return kafkaTemplate.send(SERVER_NAME_PRODUCE, message);
     }
-}
\ No newline at end of file
+}
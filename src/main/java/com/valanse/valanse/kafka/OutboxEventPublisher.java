@@ -0,0 +1,25 @@
+package com.valanse.valanse.kafka;
+
+import com.valanse.valanse.kafka.codec.ChangeEvent;
+import com.valanse.valanse.kafka.codec.ChangeEventCodec;
+import com.valanse.valanse.repository.jdbc.EventOutboxJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 변경 이벤트를 Kafka로 바로 보내지 않고 아웃박스 테이블에 기록한다.
+ * 기록은 호출한 쪽의 DB 트랜잭션과 함께 커밋/롤백되고, 실제 전송은 OutboxRelay가 맡는다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxEventPublisher {
+
+    private final EventOutboxJdbcRepository eventOutboxJdbcRepository;
+
+    public void publish(ChangeEvent event) {
+        eventOutboxJdbcRepository.append(event.getType().name(), ChangeEventCodec.encode(event));
+        log.debug("Queued outbox event: {}", event);
+    }
+}
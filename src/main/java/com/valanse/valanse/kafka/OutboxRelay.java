@@ -0,0 +1,118 @@
+package com.valanse.valanse.kafka;
+
+import com.valanse.valanse.dto.OutboxEventDto;
+import com.valanse.valanse.repository.jdbc.EventOutboxJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 아웃박스 테이블의 미전송 이벤트를 모아 Kafka로 보내고, 전송이 확인된 행만 한 번에 전송 완료 처리한다.
+ * 전송이 확인되지 않은 행은 다음 주기에 다시 보내므로 최소 한 번(at-least-once) 전달된다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final EventOutboxJdbcRepository eventOutboxJdbcRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final int retentionHours;
+
+    public OutboxRelay(EventOutboxJdbcRepository eventOutboxJdbcRepository,
+                       KafkaProducerService kafkaProducerService,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${valanse.outbox.batch-size:500}") int batchSize,
+                       @Value("${valanse.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${valanse.outbox.retention-hours:24}") int retentionHours) {
+        this.eventOutboxJdbcRepository = eventOutboxJdbcRepository;
+        this.kafkaProducerService = kafkaProducerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retentionHours = retentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "${valanse.outbox.relay-interval-ms:500}")
+    public void relay() {
+        try {
+            // 한 배치를 가득 채워 보냈다면 밀린 이벤트가 더 있을 수 있으므로 이어서 보낸다.
+            while (relayBatch() == batchSize) {
+                log.debug("Outbox backlog remaining, relaying next batch");
+            }
+        } catch (Exception e) {
+            log.error("Error relaying outbox events", e);
+        }
+    }
+
+    private int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxEventDto> events = eventOutboxJdbcRepository.lockUnsent(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            // 모두 먼저 보내 프로듀서가 배치로 묶게 한 뒤 결과를 기다린다.
+            List<CompletableFuture<?>> futures = new ArrayList<>(events.size());
+            for (OutboxEventDto event : events) {
+                try {
+                    futures.add(kafkaProducerService.send(event.getPayload()));
+                } catch (RuntimeException e) {
+                    futures.add(CompletableFuture.failedFuture(e));
+                }
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+            List<Long> sentIds = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                try {
+                    futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    sentIds.add(events.get(i).getOutboxId());
+                } catch (ExecutionException | TimeoutException e) {
+                    log.warn("Outbox event {} not acknowledged, will retry: {}", events.get(i).getOutboxId(), e.toString());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            eventOutboxJdbcRepository.markSent(sentIds);
+            // 일부라도 실패했다면 이번 주기는 멈추고 다음 주기에 다시 시도한다.
+            return sentIds.size() == events.size() ? events.size() : 0;
+        });
+
+        return sent == null ? 0 : sent;
+    }
+
+    @Scheduled(fixedDelayString = "${valanse.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+            int deleted;
+            int total = 0;
+            do {
+                deleted = eventOutboxJdbcRepository.deleteSentBefore(before, 1000);
+                total += deleted;
+            } while (deleted == 1000);
+
+            if (total > 0) {
+                log.info("Purged {} sent outbox events", total);
+            }
+        } catch (Exception e) {
+            log.error("Error purging outbox events", e);
+        }
+    }
+}
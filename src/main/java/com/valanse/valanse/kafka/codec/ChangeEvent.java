@@ -0,0 +1,24 @@
+package com.valanse.valanse.kafka.codec;
+
+import com.valanse.valanse.kafka.EventType;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@Builder
+public class ChangeEvent {
+    private EventType type; // 이벤트 종류, 알 수 없는 종류면 null
+    private int userId; // 사용자 식별자
+    @Builder.Default
+    private List<String> categories = List.of(); // 관련 카테고리 목록
+    @Builder.Default
+    private int[] quizIds = new int[0]; // 관련 퀴즈 식별자 목록 (순서 유지)
+
+    // 카테고리가 하나인 이벤트에서 사용
+    public String getCategory() {
+        return categories.isEmpty() ? null : categories.get(0);
+    }
+}
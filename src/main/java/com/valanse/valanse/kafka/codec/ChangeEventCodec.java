@@ -0,0 +1,180 @@
+package com.valanse.valanse.kafka.codec;
+
+import com.valanse.valanse.kafka.EventType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 변경 이벤트의 바이너리 인코딩/디코딩.
+ *
+ * <pre>
+ * magic(1) version(1) type(1) userId(varint)
+ * categoryCount(varint) { length(varint) utf8 }*
+ * quizIdCount(varint) { quizId(varint) }*
+ * </pre>
+ *
+ * 이후 버전은 필드를 뒤에만 추가하고, 디코더는 모르는 뒤쪽 바이트를 무시한다.
+ * magic으로 시작하지 않는 메시지는 기존 "TYPE|key:value,..." 문자열로 보고 LegacyChangeEventFormat으로 읽는다.
+ */
+public final class ChangeEventCodec {
+
+    static final byte MAGIC = (byte) 0xA5;
+    static final byte VERSION = 1;
+
+    private ChangeEventCodec() {
+    }
+
+    public static byte[] encode(ChangeEvent event) {
+        List<byte[]> categoryBytes = new ArrayList<>(event.getCategories().size());
+        int size = 3 + 5 + 5 + 5 + event.getQuizIds().length * 5;
+        for (String category : event.getCategories()) {
+            byte[] bytes = category.getBytes(StandardCharsets.UTF_8);
+            categoryBytes.add(bytes);
+            size += 5 + bytes.length;
+        }
+
+        Writer writer = new Writer(size);
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeByte(event.getType().getCode());
+        writer.writeVarint(event.getUserId());
+
+        writer.writeVarint(categoryBytes.size());
+        for (byte[] bytes : categoryBytes) {
+            writer.writeVarint(bytes.length);
+            writer.writeBytes(bytes);
+        }
+
+        writer.writeVarint(event.getQuizIds().length);
+        for (int quizId : event.getQuizIds()) {
+            writer.writeVarint(quizId);
+        }
+
+        return writer.toByteArray();
+    }
+
+    public static ChangeEvent decode(byte[] message) {
+        if (message.length == 0 || message[0] != MAGIC) {
+            return LegacyChangeEventFormat.read(new String(message, StandardCharsets.UTF_8));
+        }
+
+        Reader reader = new Reader(message);
+        reader.readByte(); // magic
+        int version = reader.readByte();
+        if (version < 1) {
+            throw new IllegalArgumentException("Unsupported event version: " + version);
+        }
+
+        EventType type = EventType.fromCode(reader.readByte());
+        int userId = reader.readVarint();
+
+        int categoryCount = reader.readLength();
+        List<String> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(reader.readString(reader.readLength()));
+        }
+
+        int[] quizIds = new int[reader.readLength()];
+        for (int i = 0; i < quizIds.length; i++) {
+            quizIds[i] = reader.readVarint();
+        }
+
+        return ChangeEvent.builder()
+                .type(type)
+                .userId(userId)
+                .categories(categories)
+                .quizIds(quizIds)
+                .build();
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialSize) {
+            buffer = new byte[initialSize];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        // 7비트씩 나눠 기록하고 이어지는 바이트가 있으면 최상위 비트를 켠다.
+        void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int readByte() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at offset " + position);
+        }
+
+        // 길이 값은 남은 바이트 수를 넘을 수 없으므로 잘못된 메시지로 큰 배열을 만들지 않는다.
+        int readLength() {
+            int length = readVarint();
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Invalid length " + length + " at offset " + position);
+            }
+            return length;
+        }
+
+        String readString(int length) {
+            require(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void require(int length) {
+            if (position + length > buffer.length) {
+                throw new IllegalArgumentException("Truncated event at offset " + position);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.valanse.valanse.kafka.codec;
+
+import com.valanse.valanse.kafka.EventType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 바이너리 형식 이전의 "TYPE|userId:1,category:x" 문자열 이벤트를 읽고 쓴다.
+ * 아직 바이너리 형식을 모르는 상대와 주고받는 동안에만 사용한다.
+ */
+public final class LegacyChangeEventFormat {
+
+    // 알려진 키 앞에서만 나누므로 값에 쉼표나 콜론이 있어도 다른 키로 잘리지 않는다.
+    private static final Pattern KEY = Pattern.compile("(?:^|,)(userId|category|categories|recommendedQuizIds):");
+
+    // categories 값의 구분자. 카테고리 이름 안의 구분자와 역슬래시는 역슬래시로 이스케이프한다.
+    private static final char CATEGORY_SEPARATOR = ';';
+    private static final char ESCAPE = '\\';
+
+    private LegacyChangeEventFormat() {
+    }
+
+    public static String write(ChangeEvent event) {
+        StringBuilder data = new StringBuilder()
+                .append(event.getType().name())
+                .append("|userId:")
+                .append(event.getUserId());
+
+        switch (event.getType()) {
+            case USER_CATEGORY_PREFERENCES_CHANGED -> data.append(",categories:").append(joinCategories(event.getCategories()));
+            case RECOMMEND_QUIZ_CHANGED -> {
+                data.append(",recommendedQuizIds:");
+                for (int i = 0; i < event.getQuizIds().length; i++) {
+                    if (i > 0) {
+                        data.append(',');
+                    }
+                    data.append(event.getQuizIds()[i]);
+                }
+            }
+            default -> data.append(",category:").append(event.getCategory());
+        }
+
+        return data.toString();
+    }
+
+    public static ChangeEvent read(String message) {
+        String[] parts = message.split("\\|", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed legacy event: " + message);
+        }
+
+        ChangeEvent.ChangeEventBuilder builder = ChangeEvent.builder().type(EventType.fromName(parts[0]));
+        String data = parts[1];
+
+        Matcher matcher = KEY.matcher(data);
+        String key = null;
+        int valueStart = 0;
+        while (true) {
+            boolean found = matcher.find();
+            if (key != null) {
+                apply(builder, key, data.substring(valueStart, found ? matcher.start() : data.length()).trim());
+            }
+            if (!found) {
+                break;
+            }
+            key = matcher.group(1);
+            valueStart = matcher.end();
+        }
+
+        return builder.build();
+    }
+
+    private static void apply(ChangeEvent.ChangeEventBuilder builder, String key, String value) {
+        switch (key) {
+            case "userId" -> builder.userId(Integer.parseInt(value));
+            case "category" -> builder.categories(List.of(value));
+            case "categories" -> builder.categories(value.isEmpty() ? List.of() : splitCategories(value));
+            case "recommendedQuizIds" -> {
+                List<Integer> quizIds = new ArrayList<>();
+                for (String quizId : value.split(",")) {
+                    if (!quizId.isBlank()) {
+                        quizIds.add(Integer.parseInt(quizId.trim()));
+                    }
+                }
+                builder.quizIds(quizIds.stream().mapToInt(Integer::intValue).toArray());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static String joinCategories(List<String> categories) {
+        StringBuilder joined = new StringBuilder();
+        for (String category : categories) {
+            if (!joined.isEmpty()) {
+                joined.append(CATEGORY_SEPARATOR);
+            }
+            for (int i = 0; i < category.length(); i++) {
+                char c = category.charAt(i);
+                if (c == CATEGORY_SEPARATOR || c == ESCAPE) {
+                    joined.append(ESCAPE);
+                }
+                joined.append(c);
+            }
+        }
+        return joined.toString();
+    }
+
+    // 이스케이프하지 않는 이전 작성자의 값도 읽을 수 있도록, 구분자나 역슬래시 앞이 아닌 역슬래시는 그대로 둔다.
+    private static List<String> splitCategories(String value) {
+        List<String> categories = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ESCAPE && i + 1 < value.length()
+                    && (value.charAt(i + 1) == CATEGORY_SEPARATOR || value.charAt(i + 1) == ESCAPE)) {
+                current.append(value.charAt(++i));
+            } else if (c == CATEGORY_SEPARATOR) {
+                categories.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        categories.add(current.toString());
+        return categories;
+    }
+}
@@ -2,38 +2,43 @@ package com.valanse.valanse.kafka.listener;
 
 import com.valanse.valanse.config.SpringContext;
 import com.valanse.valanse.entity.FavoriteCategory;
-import com.valanse.valanse.kafka.EventTypes;
-import com.valanse.valanse.kafka.KafkaProducerService;
+import com.valanse.valanse.kafka.EventType;
+import com.valanse.valanse.kafka.OutboxEventPublisher;
+import com.valanse.valanse.kafka.codec.ChangeEvent;
 import jakarta.persistence.PostPersist;
 import jakarta.persistence.PostUpdate;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 @Slf4j
 public class FavoriteCategoryListener {
 
-    private KafkaProducerService kafkaProducerService;
+    private OutboxEventPublisher outboxEventPublisher;
 
     @PostPersist
     @PostUpdate
     private void handleFavoriteCategoryChange(FavoriteCategory favoriteCategory) {
         try {
-            // getBean을 사용하는 시점에 kafkaProducerService를 초기화합니다.
-            if (kafkaProducerService == null) {
-                kafkaProducerService = SpringContext.getBean(KafkaProducerService.class);
+            // getBean을 사용하는 시점에 outboxEventPublisher를 초기화합니다.
+            if (outboxEventPublisher == null) {
+                outboxEventPublisher = SpringContext.getBean(OutboxEventPublisher.class);
             }
 
-            String data = String.format(
-                    "userId:%d,category:%s",
-                    favoriteCategory.getUserId(),
-                    favoriteCategory.getCategory()
-            );
-            kafkaProducerService.sendChangeEvent(EventTypes.FAVORITE_CATEGORY_CHANGED, data);
+            ChangeEvent event = ChangeEvent.builder()
+                    .type(EventType.FAVORITE_CATEGORY_CHANGED)
+                    .userId(favoriteCategory.getUserId())
+                    .categories(List.of(favoriteCategory.getCategory()))
+                    .build();
+            // 엔티티와 같은 트랜잭션으로 아웃박스에 기록되고, 전송은 OutboxRelay가 한다.
+            outboxEventPublisher.publish(event);
 
             log.info("Processed FavoriteCategory change for user_id: {}, category: {}",
                     favoriteCategory.getUserId(),
                     favoriteCategory.getCategory());
         } catch (Exception e) {
             log.error("Error processing FavoriteCategory change", e);
+            throw e; // 아웃박스 기록에 실패하면 엔티티 변경도 함께 롤백한다.
         }
     }
 }
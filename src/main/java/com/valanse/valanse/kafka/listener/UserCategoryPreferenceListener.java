@@ -2,39 +2,44 @@ package com.valanse.valanse.kafka.listener;
 
 import com.valanse.valanse.config.SpringContext;
 import com.valanse.valanse.entity.UserCategoryPreference;
-import com.valanse.valanse.kafka.EventTypes;
-import com.valanse.valanse.kafka.KafkaProducerService;
+import com.valanse.valanse.kafka.EventType;
+import com.valanse.valanse.kafka.OutboxEventPublisher;
+import com.valanse.valanse.kafka.codec.ChangeEvent;
 import jakarta.persistence.PostPersist;
 import jakarta.persistence.PostUpdate;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 public class UserCategoryPreferenceListener {
 
-    private KafkaProducerService kafkaProducerService;
+    private OutboxEventPublisher outboxEventPublisher;
 
     @PostPersist
     @PostUpdate
     private void handleUserCategoryPreferenceChange(UserCategoryPreference userCategoryPreference) {
-        // getBean을 사용하는 시점에 kafkaProducerService를 초기화합니다.
-        if (kafkaProducerService == null) {
-            kafkaProducerService = SpringContext.getBean(KafkaProducerService.class);
+        // getBean을 사용하는 시점에 outboxEventPublisher를 초기화합니다.
+        if (outboxEventPublisher == null) {
+            outboxEventPublisher = SpringContext.getBean(OutboxEventPublisher.class);
         }
 
         try {
-            String data = String.format(
-                    "userId:%d,category:%s",
-                    userCategoryPreference.getUserId(),
-                    userCategoryPreference.getCategory()
-            );
-            kafkaProducerService.sendChangeEvent(EventTypes.USER_CATEGORY_PREFERENCE_CHANGED, data);
+            ChangeEvent event = ChangeEvent.builder()
+                    .type(EventType.USER_CATEGORY_PREFERENCE_CHANGED)
+                    .userId(userCategoryPreference.getUserId())
+                    .categories(List.of(userCategoryPreference.getCategory()))
+                    .build();
+            // 엔티티와 같은 트랜잭션으로 아웃박스에 기록되고, 전송은 OutboxRelay가 한다.
+            outboxEventPublisher.publish(event);
             log.info("Processed UserCategoryPreference change for user_id: {}, category: {}",
                     userCategoryPreference.getUserId(),
                     userCategoryPreference.getCategory());
         } catch (Exception e) {
             log.error("Error processing UserCategoryPreference change", e);
+            throw e; // 아웃박스 기록에 실패하면 엔티티 변경도 함께 롤백한다.
         }
     }
 }
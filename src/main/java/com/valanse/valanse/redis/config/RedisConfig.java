@@ -1,14 +1,25 @@
 package com.valanse.valanse.redis.config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulConnection;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
 
 @Configuration
 @EnableRedisRepositories
@@ -24,6 +35,26 @@ public class RedisConfig {
     @Value("${spring.data.redis.password}")
     private String password;
 
+    @Value("${valanse.redis.connect-timeout-ms:1000}")
+    private long connectTimeoutMillis;
+
+    // 캐시·토큰 조회는 Redis가 느리면 DB나 메모리로 대체하므로 오래 기다리지 않는다.
+    @Value("${valanse.redis.command-timeout-ms:2000}")
+    private long commandTimeoutMillis;
+
+    // 풀은 MULTI/EXEC나 블로킹 명령처럼 전용 연결이 필요한 작업에만 쓰인다. 일반 명령은 풀과 관계없이 공유 연결을 쓴다.
+    @Value("${valanse.redis.pool.enabled:false}")
+    private boolean poolEnabled;
+
+    @Value("${valanse.redis.pool.max-total:16}")
+    private int poolMaxTotal;
+
+    @Value("${valanse.redis.pool.max-idle:8}")
+    private int poolMaxIdle;
+
+    @Value("${valanse.redis.pool.min-idle:2}")
+    private int poolMinIdle;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration();
@@ -31,22 +62,70 @@ public class RedisConfig {
         redisStandaloneConfiguration.setPort(port);
         redisStandaloneConfiguration.setPassword(password); // 비밀번호 설정
 
-        return new LettuceConnectionFactory(redisStandaloneConfiguration);
+        LettuceConnectionFactory lettuceConnectionFactory = new LettuceConnectionFactory(redisStandaloneConfiguration, lettuceClientConfiguration());
+        // 스레드마다 연결을 열지 않고 하나의 네이티브 연결에 명령을 파이프라이닝한다.
+        lettuceConnectionFactory.setShareNativeConnection(true);
+        return lettuceConnectionFactory;
     }
 
     @Bean
-    public RedisTemplate<?, ?> redisTemplate() {
+    public RedisTemplate<String, byte[]> redisTemplate() {
 
         // redisTemplate 를 받아와서 set, get, delete 를 사용
-        RedisTemplate<byte[], byte[]> redisTemplate = new RedisTemplate<>();
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
 
         /*
          * setKeySerializer, setValueSerializer 설정
          * redis-cli 을 통해 직접 데이터를 조회 시 알아볼 수 없는 형태로 출력되는 것을 방지
+         * 키는 문자열로, 값은 호출하는 쪽에서 만든 바이트(JSON, 비트맵 등)를 그대로 저장한다. 기본 JDK 직렬화는 클래스 정보가 붙어 크다.
          */
         redisTemplate.setConnectionFactory(redisConnectionFactory());
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setHashKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.setHashValueSerializer(RedisSerializer.byteArray());
 
         return redisTemplate;
     }
-}
 
+    // 캐시 무효화 등 Redis pub/sub 구독에 사용
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
+
+    private LettuceClientConfiguration lettuceClientConfiguration() {
+        ClientOptions clientOptions = ClientOptions.builder()
+                .socketOptions(SocketOptions.builder()
+                        .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                        .keepAlive(true)
+                        .build())
+                .timeoutOptions(TimeoutOptions.enabled(Duration.ofMillis(commandTimeoutMillis)))
+                // 연결이 끊긴 동안 명령을 쌓아 두지 않고 바로 실패시켜, 호출하는 쪽이 DB나 메모리로 대체하도록 한다.
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build();
+
+        if (!poolEnabled) {
+            return LettuceClientConfiguration.builder()
+                    .clientOptions(clientOptions)
+                    .commandTimeout(Duration.ofMillis(commandTimeoutMillis))
+                    .shutdownTimeout(Duration.ofMillis(100))
+                    .build();
+        }
+
+        GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(poolMaxTotal);
+        poolConfig.setMaxIdle(poolMaxIdle);
+        poolConfig.setMinIdle(poolMinIdle);
+        poolConfig.setMaxWait(Duration.ofMillis(commandTimeoutMillis));
+
+        return LettucePoolingClientConfiguration.builder()
+                .poolConfig(poolConfig)
+                .clientOptions(clientOptions)
+                .commandTimeout(Duration.ofMillis(commandTimeoutMillis))
+                .shutdownTimeout(Duration.ofMillis(100))
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.valanse.valanse.redis.repository;
+
+import com.valanse.valanse.redis.entity.RefreshToken;
+import com.valanse.valanse.util.HashUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 보조 인덱스 없이 일반 키만으로 저장하는 리프레시 토큰 저장소.
+ *
+ * rt:user:{userIdx} 해시에 리프레시 토큰과 현재 엑세스 토큰의 해시를, rt:at:{엑세스 토큰 해시}에 사용자 식별자를 둔다.
+ * 두 키 모두 TTL로 만료되므로 @Indexed 보조 인덱스처럼 남는 항목이 없다.
+ * 모든 작업은 Lua 스크립트 한 번(왕복 한 번)으로 원자적으로 처리한다.
+ * 엑세스 토큰이 바뀌면 이전 rt:at 키는 지우고, 남아 있더라도 해시가 일치하지 않으면 무시한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    private static final String USER_KEY_PREFIX = "rt:user:";
+    private static final String ACCESS_TOKEN_KEY_PREFIX = "rt:at:";
+
+    // KEYS: 사용자 키, 엑세스 토큰 키 / ARGV: 리프레시 토큰, 엑세스 토큰 해시, TTL(초), 엑세스 토큰 키 접두사, 사용자 식별자
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            local previous = redis.call('HGET', KEYS[1], 'accessTokenHash')
+            if previous and previous ~= ARGV[2] then
+                redis.call('DEL', ARGV[4] .. previous)
+            end
+            redis.call('HSET', KEYS[1], 'refreshToken', ARGV[1], 'accessTokenHash', ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[5], 'EX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS: 엑세스 토큰 키 / ARGV: 사용자 키 접두사, 엑세스 토큰 해시
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FIND_SCRIPT = new DefaultRedisScript<>("""
+            local userIdx = redis.call('GET', KEYS[1])
+            if not userIdx then
+                return {}
+            end
+            local token = redis.call('HMGET', ARGV[1] .. userIdx, 'refreshToken', 'accessTokenHash')
+            if token[2] ~= ARGV[2] then
+                return {}
+            end
+            return {userIdx, token[1]}
+            """, List.class);
+
+    // KEYS: 이전 엑세스 토큰 키, 새 엑세스 토큰 키 / ARGV: 사용자 키 접두사, 이전 엑세스 토큰 해시, 새 엑세스 토큰 해시
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local userIdx = redis.call('GET', KEYS[1])
+            if not userIdx then
+                return 0
+            end
+            local userKey = ARGV[1] .. userIdx
+            if redis.call('HGET', userKey, 'accessTokenHash') ~= ARGV[2] then
+                return 0
+            end
+            local ttl = redis.call('TTL', userKey)
+            if ttl <= 0 then
+                return 0
+            end
+            redis.call('HSET', userKey, 'accessTokenHash', ARGV[3])
+            redis.call('DEL', KEYS[1])
+            redis.call('SET', KEYS[2], userIdx, 'EX', ttl)
+            return 1
+            """, Long.class);
+
+    // KEYS: 엑세스 토큰 키 / ARGV: 사용자 키 접두사, 엑세스 토큰 해시
+    private static final RedisScript<Long> DELETE_SCRIPT = new DefaultRedisScript<>("""
+            local userIdx = redis.call('GET', KEYS[1])
+            if not userIdx then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            local userKey = ARGV[1] .. userIdx
+            if redis.call('HGET', userKey, 'accessTokenHash') ~= ARGV[2] then
+                return 0
+            end
+            redis.call('DEL', userKey)
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 사용자의 리프레시 토큰을 저장한다. 이전에 저장된 토큰이 있으면 대체한다.
+    public void save(Integer userIdx, String accessToken, String refreshToken, long ttlSeconds) {
+        String accessTokenHash = HashUtil.sha256(accessToken);
+        stringRedisTemplate.execute(SAVE_SCRIPT,
+                List.of(USER_KEY_PREFIX + userIdx, ACCESS_TOKEN_KEY_PREFIX + accessTokenHash),
+                refreshToken, accessTokenHash, String.valueOf(ttlSeconds), ACCESS_TOKEN_KEY_PREFIX, String.valueOf(userIdx));
+    }
+
+    // 파이프라인 안에서 다른 명령과 함께 보낼 때. 결과는 파이프라인이 끝난 뒤에 돌아온다.
+    public void save(RedisConnection connection, Integer userIdx, String accessToken, String refreshToken, long ttlSeconds) {
+        String accessTokenHash = HashUtil.sha256(accessToken);
+        connection.scriptingCommands().eval(bytes(SAVE_SCRIPT.getScriptAsString()), ReturnType.INTEGER, 2,
+                bytes(USER_KEY_PREFIX + userIdx), bytes(ACCESS_TOKEN_KEY_PREFIX + accessTokenHash),
+                bytes(refreshToken), bytes(accessTokenHash), bytes(String.valueOf(ttlSeconds)), bytes(ACCESS_TOKEN_KEY_PREFIX), bytes(String.valueOf(userIdx)));
+    }
+
+    // 현재 엑세스 토큰으로 리프레시 토큰을 찾는다.
+    public Optional<RefreshToken> findByAccessToken(String accessToken) {
+        String accessTokenHash = HashUtil.sha256(accessToken);
+        List<?> found = stringRedisTemplate.execute(FIND_SCRIPT,
+                List.of(ACCESS_TOKEN_KEY_PREFIX + accessTokenHash),
+                USER_KEY_PREFIX, accessTokenHash);
+        if (found == null || found.size() < 2) {
+            return Optional.empty();
+        }
+        return Optional.of(new RefreshToken(Integer.valueOf(found.get(0).toString()), accessToken, found.get(1).toString()));
+    }
+
+    // 엑세스 토큰을 재발급한 토큰으로 바꾼다. 그 사이 다른 요청이 먼저 바꿨다면 false
+    public boolean updateAccessToken(String previousAccessToken, String accessToken) {
+        String previousHash = HashUtil.sha256(previousAccessToken);
+        String hash = HashUtil.sha256(accessToken);
+        Long updated = stringRedisTemplate.execute(ROTATE_SCRIPT,
+                List.of(ACCESS_TOKEN_KEY_PREFIX + previousHash, ACCESS_TOKEN_KEY_PREFIX + hash),
+                USER_KEY_PREFIX, previousHash, hash);
+        return updated != null && updated == 1;
+    }
+
+    // 엑세스 토큰과 매치되는 리프레시 토큰을 지운다. 없었으면 false
+    public boolean deleteByAccessToken(String accessToken) {
+        String accessTokenHash = HashUtil.sha256(accessToken);
+        Long deleted = stringRedisTemplate.execute(DELETE_SCRIPT,
+                List.of(ACCESS_TOKEN_KEY_PREFIX + accessTokenHash),
+                USER_KEY_PREFIX, accessTokenHash);
+        return deleted != null && deleted == 1;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,257 @@
+package com.valanse.valanse.redis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valanse.valanse.dto.QuizDto;
+import com.valanse.valanse.entity.Quiz;
+import com.valanse.valanse.repository.jpa.QuizRepository;
+import com.valanse.valanse.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 퀴즈 DTO의 2단계 캐시. 인스턴스 메모리의 L1(LruCache)과 여러 인스턴스가 공유하는 Redis L2(JSON)로 이루어진다.
+ * 여러 건은 L1에서 먼저 찾고, 나머지는 MGET 한 번으로, 그래도 없는 것만 DB에서 모아 읽는다.
+ *
+ * 수정/삭제/선호도·조회수 변경 시 L2를 지우고 Redis pub/sub으로 모든 인스턴스의 L1을 무효화한다.
+ * 선호도·조회수처럼 자주 바뀌는 값은 markDirty로 모아 두었다가 주기적으로 한 번에 무효화한다.
+ * Redis 장애 시에는 L1과 DB만 사용한다.
+ */
+@Slf4j
+@Service
+public class QuizDtoCache {
+
+    private static final String KEY_PREFIX = "quiz:dto:";
+    private static final String INVALIDATION_CHANNEL = "quiz:dto:invalidation";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final QuizRepository quizRepository;
+    private final long ttlSeconds;
+    private final LruCache<Integer, QuizDto> localCache;
+
+    // 무효화가 일어날 때마다 증가한다. 읽는 도중 무효화가 있었다면 읽은 값을 L1에 넣지 않는다.
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+    private final Set<Integer> dirtyQuizIds = ConcurrentHashMap.newKeySet();
+
+    public QuizDtoCache(StringRedisTemplate stringRedisTemplate,
+                        RedisMessageListenerContainer redisMessageListenerContainer,
+                        ObjectMapper objectMapper,
+                        QuizRepository quizRepository,
+                        @Value("${valanse.quiz-cache.ttl-seconds:300}") long ttlSeconds,
+                        @Value("${valanse.quiz-cache.l1-max-size:10000}") int localMaxSize,
+                        @Value("${valanse.quiz-cache.l1-ttl-ms:30000}") long localTtlMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.objectMapper = objectMapper;
+        this.quizRepository = quizRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.localCache = new LruCache<>(localMaxSize, localTtlMillis);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            invalidationEpoch.incrementAndGet();
+            List<Integer> quizIds = Arrays.stream(new String(message.getBody(), StandardCharsets.UTF_8).split(","))
+                    .filter(quizId -> !quizId.isBlank())
+                    .map(Integer::valueOf)
+                    .toList();
+            localCache.removeAll(quizIds);
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public Optional<QuizDto> getQuiz(Integer quizId) {
+        List<QuizDto> quizzes = getQuizzes(List.of(quizId));
+        return quizzes.isEmpty() ? Optional.empty() : Optional.of(quizzes.get(0));
+    }
+
+    // 요청한 순서대로 반환하고, 존재하지 않는 퀴즈는 건너뛴다.
+    public List<QuizDto> getQuizzes(List<Integer> quizIds) {
+        if (quizIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, QuizDto> found = new HashMap<>();
+        List<Integer> remoteIds = new ArrayList<>();
+        for (Integer quizId : quizIds) {
+            QuizDto quizDto = localCache.get(quizId);
+            if (quizDto == null) {
+                remoteIds.add(quizId);
+            } else {
+                found.put(quizId, quizDto);
+            }
+        }
+
+        if (!remoteIds.isEmpty()) {
+            long epoch = invalidationEpoch.get();
+            Map<Integer, QuizDto> loaded = load(remoteIds);
+            if (invalidationEpoch.get() == epoch) {
+                loaded.forEach(localCache::put);
+            }
+            found.putAll(loaded);
+        }
+
+        List<QuizDto> quizzes = new ArrayList<>(quizIds.size());
+        for (Integer quizId : quizIds) {
+            QuizDto quizDto = found.get(quizId);
+            if (quizDto != null) {
+                quizzes.add(quizDto);
+            }
+        }
+        return quizzes;
+    }
+
+    // 수정/삭제처럼 바로 반영되어야 하는 변경. 커밋 직전에 읽힌 값이 다시 채워졌을 수 있어 다음 주기에 한 번 더 지운다.
+    public void invalidate(Integer quizId) {
+        invalidate(List.of(quizId));
+    }
+
+    public void invalidate(Collection<Integer> quizIds) {
+        evict(List.copyOf(quizIds));
+        dirtyQuizIds.addAll(quizIds);
+    }
+
+    // 선호도/조회수처럼 자주 바뀌는 값. 모았다가 flushInvalidations에서 한 번에 무효화한다.
+    public void markDirty(Integer quizId) {
+        dirtyQuizIds.add(quizId);
+    }
+
+    public void markDirty(Collection<Integer> quizIds) {
+        dirtyQuizIds.addAll(quizIds);
+    }
+
+    @Scheduled(fixedDelayString = "${valanse.quiz-cache.invalidation-flush-ms:1000}")
+    public void flushInvalidations() {
+        if (dirtyQuizIds.isEmpty()) {
+            return;
+        }
+
+        List<Integer> quizIds = new ArrayList<>();
+        for (Iterator<Integer> iterator = dirtyQuizIds.iterator(); iterator.hasNext(); ) {
+            quizIds.add(iterator.next());
+            iterator.remove();
+        }
+        evict(quizIds);
+    }
+
+    private void evict(List<Integer> quizIds) {
+        invalidationEpoch.incrementAndGet();
+        localCache.removeAll(quizIds);
+
+        try {
+            stringRedisTemplate.delete(quizIds.stream().map(quizId -> KEY_PREFIX + quizId).toList());
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    quizIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (DataAccessException e) {
+            log.warn("Failed to invalidate cached quizzes {}: {}", quizIds, e.getMessage());
+        }
+    }
+
+    // L2에서 찾고, 없는 것만 DB에서 읽어 L2에 채운다.
+    private Map<Integer, QuizDto> load(List<Integer> quizIds) {
+        Map<Integer, QuizDto> loaded = new HashMap<>();
+        List<String> cached = readAll(quizIds);
+        List<Integer> missingIds = new ArrayList<>();
+        for (int i = 0; i < quizIds.size(); i++) {
+            QuizDto quizDto = cached == null ? null : deserialize(cached.get(i));
+            if (quizDto == null) {
+                missingIds.add(quizIds.get(i));
+            } else {
+                loaded.put(quizIds.get(i), quizDto);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            Map<Integer, QuizDto> fromDb = new HashMap<>();
+            for (Quiz quiz : quizRepository.findAllByIdIn(missingIds)) {
+                fromDb.put(quiz.getQuizId(), toQuizDto(quiz));
+            }
+            writeAll(fromDb);
+            loaded.putAll(fromDb);
+        }
+        return loaded;
+    }
+
+    private List<String> readAll(List<Integer> quizIds) {
+        try {
+            return stringRedisTemplate.opsForValue().multiGet(quizIds.stream().map(quizId -> KEY_PREFIX + quizId).toList());
+        } catch (DataAccessException e) {
+            log.warn("Failed to read cached quizzes, falling back to DB: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 한 번의 파이프라인으로 TTL과 함께 기록한다.
+    private void writeAll(Map<Integer, QuizDto> quizzes) {
+        if (quizzes.isEmpty()) {
+            return;
+        }
+
+        Map<byte[], byte[]> values = new LinkedHashMap<>();
+        quizzes.forEach((quizId, quizDto) -> {
+            try {
+                values.put((KEY_PREFIX + quizId).getBytes(StandardCharsets.UTF_8), objectMapper.writeValueAsBytes(quizDto));
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to serialize quiz {}", quizId, e);
+            }
+        });
+
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                values.forEach((key, value) -> connection.stringCommands()
+                        .set(key, value, Expiration.seconds(ttlSeconds), RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to cache quizzes: {}", e.getMessage());
+        }
+    }
+
+    private QuizDto deserialize(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, QuizDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable cached quiz: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private QuizDto toQuizDto(Quiz quiz) {
+        return QuizDto.builder()
+                .quizId(quiz.getQuizId())
+                .authorUserId(quiz.getAuthorUserId())
+                .content(quiz.getContent())
+                .optionA(quiz.getOptionA())
+                .optionB(quiz.getOptionB())
+                .descriptionA(quiz.getDescriptionA())
+                .descriptionB(quiz.getDescriptionB())
+                .imageA(quiz.getImageA())
+                .imageB(quiz.getImageB())
+                .viewCount(quiz.getViewCount())
+                .preference(quiz.getPreference())
+                .createdAt(quiz.getCreatedAt())
+                .updatedAt(quiz.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.valanse.valanse.redis.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 사용자별 추천 퀴즈를 Redis 정렬 집합(score = 추천 순서)으로 보관한다.
+ * 답변한 퀴즈는 답변 시점에 집합에서 빼므로, 읽을 때 user_answer를 다시 거를 필요가 없다.
+ * 추천이 모두 빠져도 "비어 있음"과 "캐시 없음"을 구분하도록 score -1의 표시 멤버를 함께 넣는다.
+ *
+ * 답변 확인과 집합 교체 사이에 커밋된 답변의 removeAnswered가 교체로 되살아나지 않도록,
+ * 사용자별 버전(recommend:version:{userId})을 답변과 무효화마다 올리고, 집합은 답변 확인 전에 읽은 버전이 그대로일 때만 교체한다.
+ */
+@Slf4j
+@Service
+public class RecommendQuizCache {
+
+    private static final String KEY_PREFIX = "recommend:";
+    private static final String VERSION_KEY_PREFIX = "recommend:version:";
+    private static final String PRESENCE_MEMBER = "0";
+
+    // KEYS: 추천 집합 키, 버전 키 / ARGV: 답변 확인 전의 버전(없으면 빈 문자열), TTL(초), 표시 멤버, 추천 순서대로의 퀴즈 식별자...
+    private static final RedisScript<Long> REPLACE_IF_UNCHANGED_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('GET', KEYS[2]) or ''
+            if version ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZADD', KEYS[1], -1, ARGV[3])
+            for i = 4, #ARGV do
+                redis.call('ZADD', KEYS[1], i - 4, ARGV[i])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS: 추천 집합 키, 버전 키 / ARGV: TTL(초), 뺄 퀴즈 식별자(없으면 집합 전체를 지운다)
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            if ARGV[2] then
+                redis.call('ZREM', KEYS[1], ARGV[2])
+            else
+                redis.call('DEL', KEYS[1])
+            end
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration ttl;
+
+    public RecommendQuizCache(StringRedisTemplate stringRedisTemplate,
+                              @Value("${valanse.recommend-cache.ttl-seconds:86400}") long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    // 캐시가 없거나 Redis를 읽지 못하면 빈 Optional
+    public Optional<List<Integer>> get(int userId) {
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet().range(KEY_PREFIX + userId, 0, -1);
+            if (members == null || members.isEmpty()) {
+                return Optional.empty();
+            }
+
+            List<Integer> quizIds = new ArrayList<>(members.size());
+            for (String member : members) {
+                if (!PRESENCE_MEMBER.equals(member)) {
+                    quizIds.add(Integer.valueOf(member));
+                }
+            }
+            return Optional.of(quizIds);
+        } catch (DataAccessException e) {
+            log.warn("Failed to read recommend cache for user {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // 답변을 확인하기 전에 읽어 put에 넘긴다. 버전 키가 없으면 빈 문자열, Redis를 읽지 못하면 null
+    public String readVersion(int userId) {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(VERSION_KEY_PREFIX + userId);
+            return version == null ? "" : version;
+        } catch (DataAccessException e) {
+            log.warn("Failed to read recommend cache version for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    // readVersion을 여러 사용자에 대해 한 번에 한다. Redis를 읽지 못하면 모두 null
+    public Map<Integer, String> readVersions(List<Integer> userIds) {
+        Map<Integer, String> versions = new HashMap<>();
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(userIds.stream()
+                    .map(userId -> VERSION_KEY_PREFIX + userId)
+                    .toList());
+            for (int i = 0; i < userIds.size(); i++) {
+                String version = values == null ? null : values.get(i);
+                versions.put(userIds.get(i), version == null ? "" : version);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to read recommend cache versions for {} users: {}", userIds.size(), e.getMessage());
+            userIds.forEach(userId -> versions.put(userId, null));
+        }
+        return versions;
+    }
+
+    // 버전이 읽은 그대로일 때만 기존 집합을 한 번에 교체한다. 그 사이 답변이나 무효화가 있었다면 캐시하지 않고 다음 조회에 다시 만든다.
+    public void put(int userId, List<Integer> quizIds, String version) {
+        if (version == null) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(quizIds.size() + 3);
+        args.add(version);
+        args.add(String.valueOf(ttl.toSeconds()));
+        args.add(PRESENCE_MEMBER);
+        for (Integer quizId : quizIds) {
+            args.add(String.valueOf(quizId));
+        }
+
+        try {
+            Long replaced = stringRedisTemplate.execute(REPLACE_IF_UNCHANGED_SCRIPT,
+                    List.of(KEY_PREFIX + userId, VERSION_KEY_PREFIX + userId), args.toArray());
+            if (replaced == null || replaced == 0) {
+                log.debug("Recommend cache for user {} changed while loading, not caching", userId);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to cache recommendations for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    // 답변 커밋 후 호출한다.
+    public void removeAnswered(int userId, int quizId) {
+        try {
+            stringRedisTemplate.execute(INVALIDATE_SCRIPT, List.of(KEY_PREFIX + userId, VERSION_KEY_PREFIX + userId),
+                    String.valueOf(ttl.toSeconds()), String.valueOf(quizId));
+        } catch (DataAccessException e) {
+            // 지우지 못하면 다음 조회에 답변한 퀴즈가 섞일 수 있으므로 캐시 자체를 버린다.
+            log.warn("Failed to remove answered quiz {} from recommend cache for user {}: {}", quizId, userId, e.getMessage());
+            evict(userId);
+        }
+    }
+
+    public void evict(int userId) {
+        try {
+            stringRedisTemplate.execute(INVALIDATE_SCRIPT, List.of(KEY_PREFIX + userId, VERSION_KEY_PREFIX + userId),
+                    String.valueOf(ttl.toSeconds()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict recommend cache for user {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -1,45 +1,106 @@
 package com.valanse.valanse.redis.service;
 
-import com.valanse.valanse.redis.entity.AccessToken;
-import com.valanse.valanse.redis.repository.AccessTokenRepository;
 import com.valanse.valanse.redis.repository.RefreshTokenRepository;
 import com.valanse.valanse.redis.entity.RefreshToken;
+import com.valanse.valanse.redis.repository.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenService {
 
-    private final AccessTokenRepository accessTokenRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private static final String STATE_TOKEN_KEY_PREFIX = "st:";
+    private static final String LEGACY_REFRESH_TOKEN_KEY_PREFIX = "RefreshToken:"; // @RedisHash("RefreshToken")의 키
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RefreshTokenRepository refreshTokenRepository; // 이전 저장 방식(@RedisHash). 이전 방식으로 저장된 토큰을 읽을 때만 쓴다.
+    private final RefreshTokenStore refreshTokenStore;
+
+    // 엑세스 토큰 발급을 위한 일회용 상태 토큰의 유효 기간
+    @Value("${valanse.token-store.state-token-ttl-seconds:20}")
+    private long stateTokenTtlSeconds;
+
+    // 리프레시 토큰 유효 기간(2주)
+    @Value("${valanse.token-store.refresh-ttl-seconds:1209600}")
+    private long refreshTokenTtlSeconds;
+
+    // 이전 방식으로 저장된 리프레시 토큰도 찾아 새 저장소로 옮긴다. 이전 토큰이 모두 만료된 뒤(2주)에는 꺼도 된다.
+    @Value("${valanse.token-store.read-legacy:true}")
+    private boolean readLegacy;
 
 
     //Redis 작업
 
-    @Transactional
-    public void saveAccessTokenInfo(String stateToken, String accessToken) {
-        accessTokenRepository.save(new AccessToken(stateToken, accessToken));
+    /**
+     * 로그인 완료 시 상태 토큰(-> 엑세스 토큰)과 리프레시 토큰을 파이프라인 한 번(네트워크 왕복 한 번)으로 저장한다.
+     */
+    public void saveTokens(String stateToken, Integer userIdx, String accessToken, String refreshToken) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(bytes(STATE_TOKEN_KEY_PREFIX + stateToken), bytes(accessToken),
+                    Expiration.seconds(stateTokenTtlSeconds), RedisStringCommands.SetOption.upsert());
+            refreshTokenStore.save(connection, userIdx, accessToken, refreshToken, refreshTokenTtlSeconds);
+            if (readLegacy) {
+                // 이전 방식으로 저장된 같은 사용자의 토큰이 더 이상 쓰이지 않도록 지운다. 남은 인덱스 항목은 가리키는 해시가 없어 무시된다.
+                connection.keyCommands().del(bytes(LEGACY_REFRESH_TOKEN_KEY_PREFIX + userIdx));
+            }
+            return null;
+        });
     }
 
-    @Transactional
-    public void removeAccessToken(String stateToken) {
-        AccessToken accessToken = accessTokenRepository.findByStateToken(stateToken)
-                .orElseThrow(IllegalArgumentException::new);
-        accessTokenRepository.deleteById(stateToken);
+    /**
+     * 상태 토큰을 엑세스 토큰으로 한 번만 바꿔 준다. GETDEL로 읽기와 삭제를 원자적으로 하므로 동시에 요청해도 한 쪽만 받는다.
+     */
+    public Optional<String> exchangeStateToken(String stateToken) {
+        return Optional.ofNullable(stringRedisTemplate.opsForValue().getAndDelete(STATE_TOKEN_KEY_PREFIX + stateToken));
+    }
+
+    public Optional<RefreshToken> findRefreshToken(String accessToken) {
+        Optional<RefreshToken> refreshToken = refreshTokenStore.findByAccessToken(accessToken);
+        if (refreshToken.isPresent() || !readLegacy) {
+            return refreshToken;
+        }
+
+        Optional<RefreshToken> legacy = refreshTokenRepository.findByAccessToken(accessToken);
+        legacy.ifPresent(this::migrate);
+        return legacy;
     }
 
-    @Transactional
-    public void saveRefreshTokenInfo(Integer userIdx, String accessToken, String refreshToken) {
-        refreshTokenRepository.save(new RefreshToken(userIdx, accessToken, refreshToken));
+    // 재발급한 엑세스 토큰으로 바꾼다. 동시에 들어온 다른 재발급 요청이 먼저 바꿨다면 false
+    public boolean updateAccessToken(String previousAccessToken, String accessToken) {
+        return refreshTokenStore.updateAccessToken(previousAccessToken, accessToken);
     }
 
-    @Transactional
     public void removeRefreshToken(String accessToken) {
+        if (refreshTokenStore.deleteByAccessToken(accessToken)) {
+            return;
+        }
+        if (!readLegacy) {
+            throw new IllegalArgumentException();
+        }
+
         RefreshToken refreshToken = refreshTokenRepository.findByAccessToken(accessToken)
                 .orElseThrow(IllegalArgumentException::new);
         refreshTokenRepository.delete(refreshToken);
     }
 
+    private void migrate(RefreshToken refreshToken) {
+        refreshTokenStore.save(refreshToken.getUserIdx(), refreshToken.getAccessToken(), refreshToken.getRefreshToken(), refreshTokenTtlSeconds);
+        refreshTokenRepository.delete(refreshToken);
+        log.debug("Migrated refresh token of user {} to the new token store", refreshToken.getUserIdx());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,100 @@
+package com.valanse.valanse.redis.service;
+
+import com.valanse.valanse.entity.User;
+import com.valanse.valanse.repository.jpa.UserRepository;
+import com.valanse.valanse.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인증 필터가 요청마다 DB를 조회하지 않도록 사용자 상태와 권한을 인스턴스 메모리에 캐시한다.
+ * 지금은 애플리케이션 안에 사용자 상태(정지 등)나 권한을 바꾸는 코드가 없어, DB에서 직접 바꾼 값은 TTL이 지난 뒤에 반영된다.
+ * 상태나 권한을 바꾸는 기능을 추가하면 커밋 후 invalidate를 호출해 Redis pub/sub으로 모든 인스턴스의 캐시를 바로 지운다.
+ */
+@Slf4j
+@Service
+public class UserStatusCache {
+
+    private static final String INVALIDATION_CHANNEL = "user:status:invalidation";
+    private static final String ACTIVE_STATUS = "normal";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final UserRepository userRepository;
+    private final LruCache<Integer, UserStatus> localCache;
+
+    // 무효화가 일어날 때마다 증가한다. 읽는 도중 무효화가 있었다면 읽은 값을 캐시에 넣지 않는다.
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    public UserStatusCache(StringRedisTemplate stringRedisTemplate,
+                           RedisMessageListenerContainer redisMessageListenerContainer,
+                           UserRepository userRepository,
+                           @Value("${valanse.user-status-cache.max-size:100000}") int maxSize,
+                           @Value("${valanse.user-status-cache.ttl-ms:300000}") long ttlMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.userRepository = userRepository;
+        this.localCache = new LruCache<>(maxSize, ttlMillis);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            invalidationEpoch.incrementAndGet();
+            localCache.remove(Integer.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    // 존재하지 않는 사용자면 빈 값
+    public Optional<UserStatus> get(Integer userIdx) {
+        UserStatus cached = localCache.get(userIdx);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long epoch = invalidationEpoch.get();
+        Optional<UserStatus> loaded = userRepository.findById(userIdx).map(UserStatus::of);
+        if (loaded.isPresent() && invalidationEpoch.get() == epoch) {
+            localCache.put(userIdx, loaded.get());
+        }
+        return loaded;
+    }
+
+    // 사용자의 상태나 권한이 바뀐 뒤(커밋 후) 호출한다.
+    public void invalidate(Integer userIdx) {
+        invalidationEpoch.incrementAndGet();
+        localCache.remove(userIdx);
+
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(userIdx));
+        } catch (DataAccessException e) {
+            log.warn("Failed to broadcast user status invalidation for user {}: {}", userIdx, e.getMessage());
+        }
+    }
+
+    // 상태가 없는 기존 사용자는 정상으로 본다. 인증 방식(캐시/DB)과 관계없이 같은 기준을 쓴다.
+    public static boolean isActive(String status) {
+        return status == null || ACTIVE_STATUS.equals(status);
+    }
+
+    public record UserStatus(String status, String role) {
+
+        private static UserStatus of(User user) {
+            return new UserStatus(user.getStatus(), user.getRole());
+        }
+
+        public boolean isActive() {
+            return UserStatusCache.isActive(status);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.valanse.valanse.repository.jdbc;
+
+import com.valanse.valanse.dto.CategoryStatisticsDeltaDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryStatisticsJdbcRepository {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 메모리에 모은 카테고리별 누계 증가분과 시간대별 증가분을 한 트랜잭션에서 INSERT ... ON DUPLICATE KEY UPDATE로 더한다.
+     * 최소/최대 점수는 기존 값과 비교해 더 작은/큰 값으로 바꾼다.
+     * 키 순으로 정렬해서 넣어 트랜잭션 간 잠금 순서를 일정하게 유지한다(교착 상태 방지).
+     */
+    @Transactional
+    public void addStatistics(List<CategoryStatisticsDeltaDto> totals, List<CategoryStatisticsDeltaDto> hourly) {
+        List<CategoryStatisticsDeltaDto> sortedTotals = totals.stream()
+                .sorted(Comparator.comparing(CategoryStatisticsDeltaDto::getCategory))
+                .toList();
+        for (int from = 0; from < sortedTotals.size(); from += CHUNK_SIZE) {
+            upsertTotals(sortedTotals.subList(from, Math.min(from + CHUNK_SIZE, sortedTotals.size())));
+        }
+
+        List<CategoryStatisticsDeltaDto> sortedHourly = hourly.stream()
+                .sorted(Comparator.comparing(CategoryStatisticsDeltaDto::getCategory)
+                        .thenComparing(CategoryStatisticsDeltaDto::getBucketHour))
+                .toList();
+        for (int from = 0; from < sortedHourly.size(); from += CHUNK_SIZE) {
+            upsertHourly(sortedHourly.subList(from, Math.min(from + CHUNK_SIZE, sortedHourly.size())));
+        }
+    }
+
+    public List<CategoryStatisticsDeltaDto> findAll() {
+        return jdbcTemplate.query(
+                "SELECT category, total_answers, total_score, total_score_squares, min_score, max_score FROM category_statistics",
+                (rs, rowNum) -> CategoryStatisticsDeltaDto.builder()
+                        .category(rs.getString("category"))
+                        .totalAnswers(rs.getLong("total_answers"))
+                        .totalScore(rs.getLong("total_score"))
+                        .totalScoreSquares(rs.getLong("total_score_squares"))
+                        .minScore(rs.getObject("min_score", Integer.class))
+                        .maxScore(rs.getObject("max_score", Integer.class))
+                        .build());
+    }
+
+    public List<CategoryStatisticsDeltaDto> findHourlySince(LocalDateTime since) {
+        return jdbcTemplate.query(
+                "SELECT category, bucket_hour, total_answers, total_score FROM category_statistics_hourly WHERE bucket_hour >= ?",
+                (rs, rowNum) -> CategoryStatisticsDeltaDto.builder()
+                        .category(rs.getString("category"))
+                        .bucketHour(rs.getTimestamp("bucket_hour").toLocalDateTime())
+                        .totalAnswers(rs.getLong("total_answers"))
+                        .totalScore(rs.getLong("total_score"))
+                        .build(),
+                Timestamp.valueOf(since));
+    }
+
+    public int deleteHourlyBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM category_statistics_hourly WHERE bucket_hour < ?", Timestamp.valueOf(before));
+    }
+
+    private void upsertTotals(List<CategoryStatisticsDeltaDto> chunk) {
+        String sql = "INSERT INTO category_statistics " +
+                "(category, total_answers, total_score, total_score_squares, min_score, max_score) VALUES " +
+                String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, ?)")) +
+                " ON DUPLICATE KEY UPDATE" +
+                " total_answers = total_answers + VALUES(total_answers)," +
+                " total_score = total_score + VALUES(total_score)," +
+                " total_score_squares = total_score_squares + VALUES(total_score_squares)," +
+                " min_score = LEAST(COALESCE(min_score, VALUES(min_score)), VALUES(min_score))," +
+                " max_score = GREATEST(COALESCE(max_score, VALUES(max_score)), VALUES(max_score))";
+
+        List<Object> args = new ArrayList<>(chunk.size() * 6);
+        for (CategoryStatisticsDeltaDto delta : chunk) {
+            args.add(delta.getCategory());
+            args.add(delta.getTotalAnswers());
+            args.add(delta.getTotalScore());
+            args.add(delta.getTotalScoreSquares());
+            args.add(delta.getMinScore());
+            args.add(delta.getMaxScore());
+        }
+
+        jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private void upsertHourly(List<CategoryStatisticsDeltaDto> chunk) {
+        String sql = "INSERT INTO category_statistics_hourly (category, bucket_hour, total_answers, total_score) VALUES " +
+                String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?)")) +
+                " ON DUPLICATE KEY UPDATE" +
+                " total_answers = total_answers + VALUES(total_answers)," +
+                " total_score = total_score + VALUES(total_score)";
+
+        List<Object> args = new ArrayList<>(chunk.size() * 4);
+        for (CategoryStatisticsDeltaDto delta : chunk) {
+            args.add(delta.getCategory());
+            args.add(Timestamp.valueOf(delta.getBucketHour()));
+            args.add(delta.getTotalAnswers());
+            args.add(delta.getTotalScore());
+        }
+
+        jdbcTemplate.update(sql, args.toArray());
+    }
+}
@@ -0,0 +1,63 @@
+package com.valanse.valanse.repository.jdbc;
+
+import com.valanse.valanse.dto.OutboxEventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class EventOutboxJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 호출한 쪽의 트랜잭션에 함께 묶여 커밋된다.
+    public void append(String eventType, byte[] payload) {
+        jdbcTemplate.update("INSERT INTO event_outbox (event_type, payload, created_at) VALUES (?, ?, ?)",
+                eventType, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * 아직 전송하지 않은 이벤트를 오래된 순으로 잠그며 가져온다.
+     * SKIP LOCKED로 다른 인스턴스의 릴레이가 잡고 있는 행은 건너뛴다. 반드시 트랜잭션 안에서 호출해야 한다.
+     */
+    public List<OutboxEventDto> lockUnsent(int limit) {
+        return jdbcTemplate.query(
+                "SELECT outbox_id, event_type, payload FROM event_outbox " +
+                        "WHERE sent_at IS NULL ORDER BY outbox_id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> OutboxEventDto.builder()
+                        .outboxId(rs.getLong("outbox_id"))
+                        .eventType(rs.getString("event_type"))
+                        .payload(rs.getBytes("payload"))
+                        .build(),
+                limit);
+    }
+
+    public void markSent(List<Long> outboxIds) {
+        if (outboxIds.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE event_outbox SET sent_at = ? WHERE outbox_id IN (" +
+                String.join(", ", Collections.nCopies(outboxIds.size(), "?")) + ")";
+
+        Object[] args = new Object[outboxIds.size() + 1];
+        args[0] = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < outboxIds.size(); i++) {
+            args[i + 1] = outboxIds.get(i);
+        }
+
+        jdbcTemplate.update(sql, args);
+    }
+
+    // 보관 기간이 지난 전송 완료 행을 limit 개까지 지운다.
+    public int deleteSentBefore(LocalDateTime before, int limit) {
+        return jdbcTemplate.update("DELETE FROM event_outbox WHERE sent_at < ? LIMIT ?",
+                Timestamp.valueOf(before), limit);
+    }
+}
@@ -0,0 +1,62 @@
+package com.valanse.valanse.repository.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 내용 해시로 주소를 정한 이미지(image_blob)와 그 참조 수.
+ * 같은 내용의 이미지는 S3에 한 번만 올리고, 참조 수가 0이 될 때 행과 객체를 지운다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImageBlobJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 이미 있는 이미지의 참조 수를 늘린다. 그 사이 지워졌으면 false
+    public boolean incrementRefCount(String contentHash) {
+        return jdbcTemplate.update("UPDATE image_blob SET ref_count = ref_count + 1 WHERE content_hash = ?", contentHash) == 1;
+    }
+
+    // 처음 보는 내용이면 행을 만들고 true, 이미 있으면 참조 수만 늘리고 false
+    // (ON DUPLICATE KEY UPDATE로 기존 행이 바뀌면 MySQL은 영향받은 행 수로 2를 돌려준다.)
+    public boolean insertOrIncrementRefCount(String contentHash, String objectKey, long size) {
+        int affected = jdbcTemplate.update(
+                "INSERT INTO image_blob (content_hash, object_key, ref_count, size, created_at) VALUES (?, ?, 1, ?, ?)" +
+                        " ON DUPLICATE KEY UPDATE ref_count = ref_count + 1",
+                contentHash, objectKey, size, Timestamp.valueOf(LocalDateTime.now()));
+        return affected == 1;
+    }
+
+    public Optional<String> findObjectKey(String contentHash) {
+        return jdbcTemplate.query("SELECT object_key FROM image_blob WHERE content_hash = ?",
+                (rs, rowNum) -> rs.getString("object_key"), contentHash).stream().findFirst();
+    }
+
+    // 행을 잠그고 참조 수를 읽는다. 트랜잭션 안에서 호출해야 한다. 해시 주소로 올린 이미지가 아니면 빈 값
+    public Optional<Integer> findRefCountForUpdate(String objectKey) {
+        return jdbcTemplate.query("SELECT ref_count FROM image_blob WHERE object_key = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getInt("ref_count"), objectKey).stream().findFirst();
+    }
+
+    public void decrementRefCount(String objectKey) {
+        jdbcTemplate.update("UPDATE image_blob SET ref_count = ref_count - 1 WHERE object_key = ?", objectKey);
+    }
+
+    public void deleteByObjectKey(String objectKey) {
+        jdbcTemplate.update("DELETE FROM image_blob WHERE object_key = ?", objectKey);
+    }
+
+    // 업로드에 실패한 참조를 되돌린다. 더 이상 참조하는 곳이 없으면 행도 지운다. (S3 객체는 올라가지 않았다.)
+    @Transactional
+    public void releaseFailedUpload(String contentHash) {
+        jdbcTemplate.update("UPDATE image_blob SET ref_count = ref_count - 1 WHERE content_hash = ?", contentHash);
+        jdbcTemplate.update("DELETE FROM image_blob WHERE content_hash = ? AND ref_count <= 0", contentHash);
+    }
+}
@@ -0,0 +1,97 @@
+package com.valanse.valanse.repository.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+@Repository
+@RequiredArgsConstructor
+public class RecommendQuizJdbcRepository {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 여러 사용자의 추천 세트를 새 세대로 통째로 교체한다.
+     * 1) recommend_generation의 세대를 1 올리고(행 잠금) 2) 새 세대로 추천 행을 넣는다. user에 없는 사용자는 건너뛴다.
+     * 읽기는 세대 포인터와 조인해서 하므로 커밋 시점에 이전 세트에서 새 세트로 한 번에 바뀐다.
+     * 이전 세대 행은 deleteStaleGenerations에서 모아서 지운다.
+     */
+    @Transactional
+    public int replaceAll(Map<Integer, int[]> recommendQuizIdsByUser) {
+        if (recommendQuizIdsByUser.isEmpty()) {
+            return 0;
+        }
+
+        // 사용자 순서로 잠가 트랜잭션 간 교착 상태를 피한다.
+        List<Integer> userIds = recommendQuizIdsByUser.keySet().stream().sorted().toList();
+        Map<Integer, Long> generations = new HashMap<>();
+
+        for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = userIds.subList(from, Math.min(from + CHUNK_SIZE, userIds.size()));
+
+            // 그 사이 탈퇴했거나 없는 사용자는 FK 위반으로 배치 전체가 롤백되지 않도록 user에 있는 사용자만 넣는다.
+            jdbcTemplate.update("INSERT INTO recommend_generation (user_id, generation) " +
+                            "SELECT user_id, 1 FROM user WHERE user_id IN (" +
+                            String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") ORDER BY user_id" +
+                            " ON DUPLICATE KEY UPDATE generation = recommend_generation.generation + 1",
+                    chunk.toArray());
+
+            jdbcTemplate.query("SELECT user_id, generation FROM recommend_generation WHERE user_id IN (" +
+                            String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                    rs -> {
+                        generations.put(rs.getInt("user_id"), rs.getLong("generation"));
+                    },
+                    chunk.toArray());
+        }
+
+        List<Object> args = new ArrayList<>(CHUNK_SIZE * 4);
+        int inserted = 0;
+
+        for (Integer userId : userIds) {
+            if (!generations.containsKey(userId)) {
+                continue; // 없는 사용자
+            }
+            int[] quizIds = recommendQuizIdsByUser.get(userId);
+            for (int position = 0; position < quizIds.length; position++) {
+                args.add(userId);
+                args.add(generations.get(userId));
+                args.add(quizIds[position]);
+                args.add(position);
+                if (args.size() == CHUNK_SIZE * 4) {
+                    inserted += insert(args);
+                    args.clear();
+                }
+            }
+        }
+
+        if (!args.isEmpty()) {
+            inserted += insert(args);
+        }
+        return inserted;
+    }
+
+    // 현재 세대보다 오래된 추천 행을 사용자 식별자 구간 단위로 지운다.
+    public int deleteStaleGenerations(int fromUserId, int toUserId) {
+        return jdbcTemplate.update("DELETE rq FROM recommend_quiz rq " +
+                        "JOIN recommend_generation g ON g.user_id = rq.user_id " +
+                        "WHERE rq.user_id BETWEEN ? AND ? AND rq.generation < g.generation",
+                fromUserId, toUserId);
+    }
+
+    public int findMaxUserId() {
+        Integer maxUserId = jdbcTemplate.queryForObject("SELECT MAX(user_id) FROM recommend_generation", Integer.class);
+        return maxUserId == null ? 0 : maxUserId;
+    }
+
+    // 같은 세트 안의 중복 퀴즈는 INSERT IGNORE로 앞선 순서의 것만 남긴다.
+    private int insert(List<Object> args) {
+        String sql = "INSERT IGNORE INTO recommend_quiz (user_id, generation, quiz_id, position) VALUES " +
+                String.join(", ", Collections.nCopies(args.size() / 4, "(?, ?, ?, ?)"));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+}
@@ -0,0 +1,57 @@
+package com.valanse.valanse.repository.jdbc;
+
+import com.valanse.valanse.dto.UserCategoryPreferenceDeltaDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UserCategoryPreferenceJdbcRepository {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * (사용자, 카테고리)별 증가분을 INSERT ... ON DUPLICATE KEY UPDATE 문으로 한 트랜잭션에서 반영한다.
+     * 행이 없으면 증가분으로 새로 만들고, 있으면 증가분만 더한다.
+     * (user_id, category) 순으로 정렬해서 넣어 트랜잭션 간 잠금 순서를 일정하게 유지한다(교착 상태 방지).
+     */
+    @Transactional
+    public void addAnswers(List<UserCategoryPreferenceDeltaDto> deltas) {
+        List<UserCategoryPreferenceDeltaDto> sortedDeltas = deltas.stream()
+                .sorted(Comparator.comparing(UserCategoryPreferenceDeltaDto::getUserId)
+                        .thenComparing(UserCategoryPreferenceDeltaDto::getCategory))
+                .toList();
+
+        for (int from = 0; from < sortedDeltas.size(); from += CHUNK_SIZE) {
+            upsert(sortedDeltas.subList(from, Math.min(from + CHUNK_SIZE, sortedDeltas.size())));
+        }
+    }
+
+    private void upsert(List<UserCategoryPreferenceDeltaDto> chunk) {
+        String sql = "INSERT INTO user_category_preference " +
+                "(user_id, category, answer_count, total_preference, comment_count, registration_count) VALUES " +
+                String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, 0, 0)")) +
+                " ON DUPLICATE KEY UPDATE" +
+                " answer_count = answer_count + VALUES(answer_count)," +
+                " total_preference = total_preference + VALUES(total_preference)";
+
+        List<Object> args = new ArrayList<>(chunk.size() * 4);
+        for (UserCategoryPreferenceDeltaDto delta : chunk) {
+            args.add(delta.getUserId());
+            args.add(delta.getCategory());
+            args.add(delta.getAnswerCount());
+            args.add(delta.getTotalPreference());
+        }
+
+        jdbcTemplate.update(sql, args.toArray());
+    }
+}
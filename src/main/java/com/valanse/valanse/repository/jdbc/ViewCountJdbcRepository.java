@@ -0,0 +1,58 @@
+package com.valanse.valanse.repository.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ViewCountJdbcRepository {
+
+    private static final int CHUNK_SIZE = 500; // 하나의 UPDATE 문에 담을 최대 행 수
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 여러 퀴즈의 조회수 증가분을 하나의 UPDATE 문으로 반영한다. updated_at은 조회수 변경으로 갱신되지 않도록 유지한다.
+    // 여러 UPDATE 문으로 나뉘더라도 한 트랜잭션으로 묶어, 실패하면 전부 되돌려 다시 시도할 때 중복 반영되지 않게 한다.
+    @Transactional
+    public void increaseQuizViewCounts(Map<Integer, Long> deltas) {
+        increaseCounts("quiz", "quiz_id", "view_count", deltas);
+    }
+
+    @Transactional
+    public void increaseNoticeViews(Map<Integer, Long> deltas) {
+        increaseCounts("notice", "notice_id", "views", deltas);
+    }
+
+    private void increaseCounts(String table, String idColumn, String countColumn, Map<Integer, Long> deltas) {
+        List<Map.Entry<Integer, Long>> entries = new ArrayList<>(deltas.entrySet());
+
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<Integer, Long>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+
+            // UPDATE t SET c = c + CASE id WHEN ? THEN ? ... END WHERE id IN (?, ...)
+            String sql = "UPDATE " + table +
+                    " SET " + countColumn + " = COALESCE(" + countColumn + ", 0) + CASE " + idColumn +
+                    String.join("", Collections.nCopies(chunk.size(), " WHEN ? THEN ?")) +
+                    " ELSE 0 END, updated_at = updated_at" +
+                    " WHERE " + idColumn + " IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+            List<Object> args = new ArrayList<>(chunk.size() * 3);
+            for (Map.Entry<Integer, Long> entry : chunk) {
+                args.add(entry.getKey());
+                args.add(entry.getValue());
+            }
+            for (Map.Entry<Integer, Long> entry : chunk) {
+                args.add(entry.getKey());
+            }
+
+            jdbcTemplate.update(sql, args.toArray());
+        }
+    }
+}
@@ -14,6 +14,4 @@ public interface QuizCategoryRepository extends JpaRepository<QuizCategory, Quiz
 
     List<QuizCategory> findByQuizId(Integer quizId);
 
-    List<QuizCategory> findByCategoryContaining(String keyword);
-
 }
\ No newline at end of file
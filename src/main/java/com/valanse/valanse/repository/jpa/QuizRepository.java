@@ -1,41 +1,56 @@
 package com.valanse.valanse.repository.jpa;
 
 import com.valanse.valanse.entity.Quiz;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface QuizRepository extends JpaRepository<Quiz, Integer> {
 
-    @Modifying
-    @Transactional
-    @Query("UPDATE  Quiz q SET q.viewCount = q.viewCount + 1 WHERE q.quizId = :quizId")
-    void increaseViewCount(@Param("quizId") Integer quizId);
+    @Query("SELECT q.quizId FROM Quiz q")
+    List<Integer> findAllQuizIds();
 
     @Query("SELECT q FROM Quiz q WHERE q.quizId IN :ids")
     List<Quiz> findAllByIdIn(@Param("ids") List<Integer> ids);
 
-    @Query("SELECT q FROM Quiz q " +
-                    "WHERE q.quizId IN :ids " +
-                    "AND q.quizId NOT IN (SELECT ua.quizId FROM UserAnswer ua WHERE ua.userId = :userId)")
-    List<Quiz> findAllByIdInAndNotAnswered(@Param("ids") List<Integer> ids, @Param("userId") Integer userId);
-
 
     @Modifying
     @Transactional
     @Query("UPDATE Quiz q" +
             " SET q.preference = q.preference + :preference WHERE q.quizId = :quizId")
-    void updateQuizPreference(@Param("quizId") Integer quizId, @Param("preference") Integer preference);
+    int updateQuizPreference(@Param("quizId") Integer quizId, @Param("preference") Integer preference);
 
     List<Quiz> findByAuthorUserId(Integer authorUserId);
 
-    List<Quiz> findAllByOrderByCreatedAtDesc();
+    // 키셋 페이지네이션: 첫 페이지는 정렬만, 이후 페이지는 커서(마지막 행의 정렬 키) 다음부터 조회한다.
+    List<Quiz> findAllByOrderByQuizIdAsc(Pageable pageable);
+
+    @Query("SELECT q FROM Quiz q WHERE q.quizId > :quizId ORDER BY q.quizId ASC")
+    List<Quiz> findNextPageByQuizId(@Param("quizId") Integer quizId, Pageable pageable);
 
-    List<Quiz> findAllByOrderByPreferenceDesc();
+    List<Quiz> findAllByOrderByCreatedAtDescQuizIdDesc(Pageable pageable);
 
-    List<Quiz> findByContentContaining(String keyword);
+    @Query("SELECT q FROM Quiz q " +
+            "WHERE q.createdAt < :createdAt " +
+            "OR (q.createdAt = :createdAt AND q.quizId < :quizId) " +
+            "ORDER BY q.createdAt DESC, q.quizId DESC")
+    List<Quiz> findNextPageByCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("quizId") Integer quizId, Pageable pageable);
+
+    List<Quiz> findAllByOrderByPreferenceDescQuizIdDesc(Pageable pageable);
+
+    @Query("SELECT q FROM Quiz q " +
+            "WHERE q.preference < :preference " +
+            "OR (q.preference = :preference AND q.quizId < :quizId) " +
+            "ORDER BY q.preference DESC, q.quizId DESC")
+    List<Quiz> findNextPageByPreference(@Param("preference") Integer preference, @Param("quizId") Integer quizId, Pageable pageable);
+
+    // 검색 색인 따라잡기용: 주어진 시각 이후 수정된 퀴즈를 ID 순으로 나눠 읽는다.
+    @Query("SELECT q FROM Quiz q WHERE q.updatedAt >= :since AND q.quizId > :quizId ORDER BY q.quizId ASC")
+    List<Quiz> findUpdatedSince(@Param("since") LocalDateTime since, @Param("quizId") Integer quizId, Pageable pageable);
 }
\ No newline at end of file
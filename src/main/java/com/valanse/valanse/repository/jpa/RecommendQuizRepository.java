@@ -3,9 +3,17 @@ package com.valanse.valanse.repository.jpa;
 import com.valanse.valanse.entity.RecommendQuiz;
 import com.valanse.valanse.entity.RecommendQuizId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface RecommendQuizRepository extends JpaRepository<RecommendQuiz, RecommendQuizId> {
-    List<RecommendQuiz> findByUserId(int userId);
+
+    // 사용자의 현재 세대 추천 퀴즈만 추천 순서대로 조회한다. 세대 포인터가 없으면 기존 데이터(세대 0)를 읽는다.
+    @Query(value = "SELECT rq.quiz_id FROM recommend_quiz rq " +
+            "LEFT JOIN recommend_generation g ON g.user_id = rq.user_id " +
+            "WHERE rq.user_id = :userId AND rq.generation = COALESCE(g.generation, 0) " +
+            "ORDER BY rq.position", nativeQuery = true)
+    List<Integer> findCurrentQuizIds(@Param("userId") int userId);
 }
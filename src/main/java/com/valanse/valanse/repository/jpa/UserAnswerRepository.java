@@ -4,12 +4,32 @@ import com.valanse.valanse.entity.Quiz;
 import com.valanse.valanse.entity.UserAnswer;
 import com.valanse.valanse.entity.UserAnswerId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface UserAnswerRepository extends JpaRepository<UserAnswer, UserAnswerId> {
 
-    Optional<UserAnswer> findByUserIdAndQuizId(Integer userId, Integer quizId);
+    // save()는 복합키 엔티티를 merge 하느라 SELECT 후 INSERT/UPDATE 하므로, 답변 저장은 INSERT 한 번으로 처리한다.
+    // 이미 답변한 퀴즈라면 기본키 중복으로 실패한다.
+    @Modifying
+    @Query(value = "INSERT INTO user_answer (user_id, quiz_id, selected_option, answered_at, preference) " +
+            "VALUES (:userId, :quizId, :selectedOption, :answeredAt, :preference)", nativeQuery = true)
+    void insertAnswer(@Param("userId") Integer userId,
+                      @Param("quizId") Integer quizId,
+                      @Param("selectedOption") String selectedOption,
+                      @Param("answeredAt") LocalDateTime answeredAt,
+                      @Param("preference") Integer preference);
+
+    @Query("SELECT ua.quizId FROM UserAnswer ua WHERE ua.userId = :userId")
+    List<Integer> findQuizIdsByUserId(@Param("userId") Integer userId);
+
+    // 주어진 사용자/퀴즈 조합 중 답변이 있는 (userId, quizId) 쌍
+    @Query("SELECT ua.userId, ua.quizId FROM UserAnswer ua WHERE ua.userId IN :userIds AND ua.quizId IN :quizIds")
+    List<Object[]> findAnsweredPairs(@Param("userIds") Collection<Integer> userIds, @Param("quizIds") Collection<Integer> quizIds);
 
 }
\ No newline at end of file
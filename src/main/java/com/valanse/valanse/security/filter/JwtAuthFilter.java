@@ -2,6 +2,7 @@ package com.valanse.valanse.security.filter;
 
 import com.valanse.valanse.dto.SecurityUserDto;
 import com.valanse.valanse.entity.User;
+import com.valanse.valanse.redis.service.UserStatusCache;
 import com.valanse.valanse.repository.jpa.UserRepository;
 import com.valanse.valanse.security.util.JwtUtil;
 import jakarta.servlet.FilterChain;
@@ -10,6 +11,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -28,6 +30,11 @@ public class JwtAuthFilter extends OncePerRequestFilter { // 한 번 요청당 
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final UserStatusCache userStatusCache;
+
+    // true면 서명된 토큰 클레임과 메모리의 사용자 상태 캐시만으로 인증하고, false면 요청마다 DB에서 사용자를 조회한다.
+    @Value("${valanse.auth.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest httpServletRequest) {
@@ -47,29 +54,52 @@ public class JwtAuthFilter extends OncePerRequestFilter { // 한 번 요청당 
             return;
         }
 
-        // AccessToken을 검증하고, 만료되었을경우 예외를 발생시킨다.
-        if (!jwtUtil.verifyToken(accessToken)) {
+        // AccessToken을 검증하고, 만료되었을경우 예외를 발생시킨다. 검증 결과는 JwtUtil에 캐시되어 같은 토큰은 다시 파싱하지 않는다.
+        SecurityUserDto tokenUser = jwtUtil.getVerifiedUser(accessToken);
+        if (tokenUser == null) {
             throw new JwtException("Access Token 만료!");
         }
 
-        // AccessToken의 값이 있고, 유효한 경우에 진행한다.
-        if (jwtUtil.verifyToken(accessToken)) {
+        SecurityUserDto securityUserDto = stateless ? authenticateWithClaims(tokenUser) : authenticateWithDatabase(tokenUser);
 
-            User user = userRepository.findById(jwtUtil.getUserIdx(accessToken)) // 토큰에서 사용자의 식별자를 추출하고 데이터베이스에서 해당 사용자 정보를 조회
-                    .orElseThrow(IllegalStateException::new);
+        // SecurityContext에 인증 객체를 등록해준다.
+        Authentication auth = getAuthentication(securityUserDto);
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        // 서비스에서 jwtUtil.getUserIdxFromRequest로 토큰을 다시 파싱하지 않도록 요청에도 담아 둔다.
+        request.setAttribute(JwtUtil.AUTHENTICATED_USER_ATTRIBUTE, securityUserDto);
 
-            // 조회된 사용자 정보를 기반으로 SecurityContext에 등록할 User 객체를 만들어준다.
-            SecurityUserDto securityUserDto = SecurityUserDto.builder()
-                    .userIdx(user.getUserId())
-                    .role(user.getRole())
-                    .build();
+        filterChain.doFilter(request, response);
+    }
 
-            // SecurityContext에 인증 객체를 등록해준다.
-            Authentication auth = getAuthentication(securityUserDto);
-            SecurityContextHolder.getContext().setAuthentication(auth);
+    // 토큰 클레임을 믿고, 정지·권한 변경만 사용자 상태 캐시로 확인한다. 캐시에 있으면 DB를 조회하지 않는다.
+    private SecurityUserDto authenticateWithClaims(SecurityUserDto tokenUser) {
+        UserStatusCache.UserStatus status = userStatusCache.get(tokenUser.getUserIdx())
+                .orElseThrow(IllegalStateException::new);
+
+        if (!status.isActive()) {
+            throw new JwtException("이용이 제한된 사용자입니다.");
         }
 
-        filterChain.doFilter(request, response);
+        // 토큰 발급 이후 권한이 바뀌었을 수 있으므로 현재 권한을 쓴다.
+        return SecurityUserDto.builder()
+                .userIdx(tokenUser.getUserIdx())
+                .role(status.role())
+                .build();
+    }
+
+    private SecurityUserDto authenticateWithDatabase(SecurityUserDto tokenUser) {
+        User user = userRepository.findById(tokenUser.getUserIdx()) // 토큰의 사용자 식별자로 데이터베이스에서 해당 사용자 정보를 조회
+                .orElseThrow(IllegalStateException::new);
+
+        if (!UserStatusCache.isActive(user.getStatus())) {
+            throw new JwtException("이용이 제한된 사용자입니다.");
+        }
+
+        // 조회된 사용자 정보를 기반으로 SecurityContext에 등록할 User 객체를 만들어준다.
+        return SecurityUserDto.builder()
+                .userIdx(user.getUserId())
+                .role(user.getRole())
+                .build();
     }
 
     // SecurityUserDto를 사용하여 Authentication 객체 생성; 이 객체는 사용자 정보와 권한 정보 포함
@@ -1,12 +1,13 @@
 package com.valanse.valanse.security.util;
 
+import com.valanse.valanse.dto.SecurityUserDto;
 import com.valanse.valanse.exception.InvalidStateTokenException;
-import com.valanse.valanse.redis.repository.AccessTokenRepository;
-import com.valanse.valanse.redis.repository.RefreshTokenRepository;
 import com.valanse.valanse.redis.service.TokenService;
 import com.valanse.valanse.security.dto.GeneratedTokenDto;
+import com.valanse.valanse.util.HashUtil;
+import com.valanse.valanse.util.LruCache;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,7 +17,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
@@ -28,20 +29,38 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class JwtUtil {
 
+    // JwtAuthFilter가 검증한 사용자(SecurityUserDto)를 담아 두는 요청 속성
+    public static final String AUTHENTICATED_USER_ATTRIBUTE = JwtUtil.class.getName() + ".AUTHENTICATED_USER";
+
     private final TokenService tokenService;
-    private final AccessTokenRepository accessTokenRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
     private final StateTokenUtil stateTokenUtil;
 
     @Value("${jwt.secret}")
     private String stringSecretKey;
 
+    @Value("${valanse.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    // 엑세스 토큰 유효 기간(30분). 캐시 항목은 이 시간과 토큰 만료 시각 중 이른 때 만료된다.
+    @Value("${valanse.jwt.verified-cache-ttl-ms:1800000}")
+    private long verifiedCacheTtlMillis;
+
     private Key secretKey;
 
+    // 파서는 상태가 없어 스레드 간에 공유해도 된다. 요청마다 새로 만들지 않는다.
+    private JwtParser jwtParser;
+
+    // 토큰 해시 -> 검증된 사용자 정보. 같은 토큰으로 오는 요청은 서명 검증과 파싱을 한 번만 한다.
+    private LruCache<String, SecurityUserDto> verifiedTokens;
+
     @PostConstruct
     public void init() {
         // stringSecretKey를 Key 객체로 변환하여 secretKey에 할당
         secretKey = Keys.hmacShaKeyFor(stringSecretKey.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        verifiedTokens = new LruCache<>(verifiedCacheSize, verifiedCacheTtlMillis);
     }
 
     public GeneratedTokenDto generateToken(Integer userIdx, String role) {
@@ -53,10 +72,9 @@ public class JwtUtil {
         String accessToken = generateAccessToken(userIdx, role);
         String refreshToken = generateRefreshToken(userIdx, role);
 
-        // 상태 토큰을 키로 엑세스 토큰을 Redis에 저장한다.
-        tokenService.saveAccessTokenInfo(stateToken, accessToken);
-        // userIdx를 키로 하여 리프레시 토큰을 저장한다. 엑세스 토큰은 인덱싱을 위한 메타데이터로 사용되기도 한다.
-        tokenService.saveRefreshTokenInfo(userIdx, accessToken, refreshToken);
+        // 상태 토큰을 키로 엑세스 토큰을, userIdx를 키로 리프레시 토큰을 Redis에 한 번에 저장한다.
+        // 엑세스 토큰은 리프레시 토큰을 찾기 위한 인덱스로 사용되기도 한다.
+        tokenService.saveTokens(stateToken, userIdx, accessToken, refreshToken);
         return new GeneratedTokenDto(stateToken, accessToken, refreshToken);
     }
 
@@ -108,49 +126,68 @@ public class JwtUtil {
 
 
     public boolean verifyToken(String token) {
+        return getVerifiedUser(token) != null;
+    }
+
+    /**
+     * 서명과 만료 시간을 검증한 토큰의 사용자 식별자와 권한을 반환한다.
+     * 검증 결과는 토큰 해시를 키로 토큰이 만료될 때까지 캐시한다.
+     *
+     * @param token 검사할 토큰
+     * @return 토큰의 사용자 정보, 유효하지 않은 토큰이면 null
+     */
+    public SecurityUserDto getVerifiedUser(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+
+        String key = HashUtil.sha256(token); // 캐시 키로 토큰 원문 대신 해시를 쓴다.
+        SecurityUserDto cached = verifiedTokens.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey) // 비밀키를 설정하여 파싱한다.
-                    .build()
-                    .parseClaimsJws(token);  // 주어진 토큰을 파싱하여 Claims 객체를 얻는다.
-            // 토큰의 만료 시간과 현재 시간비교
-            return claims.getBody()
-                    .getExpiration()
-                    .after(new Date());  // 만료 시간이 현재 시간 이후인지 확인하여 유효성 검사 결과를 반환
+            Claims claims = parseClaims(token); // 서명을 검증하며 파싱한다.
+            Date expiration = claims.getExpiration();
+            // 만료 시간이 현재 시간 이후인지 확인
+            if (expiration == null || !expiration.after(new Date())) {
+                return null;
+            }
+
+            SecurityUserDto user = SecurityUserDto.builder()
+                    .userIdx(claims.get("userIdx", Integer.class))
+                    .role(claims.get("role", String.class))
+                    .build();
+            verifiedTokens.put(key, user, expiration.getTime());
+            return user;
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 
-    @Transactional
     public String getAccessTokenByStateToken(String stateToken) {
-        String accessToken = accessTokenRepository.findByStateToken(stateToken)
-                .orElseThrow(() -> new InvalidStateTokenException("Invalid state token provided."))
-                .getAccessToken();
-
-        accessTokenRepository.deleteById(stateToken);
-
-        return accessToken; // AccessToken 객체에서 액세스 토큰 문자열 반환
+        // 상태 토큰은 일회용이므로 읽으면서 지운다.
+        return tokenService.exchangeStateToken(stateToken)
+                .orElseThrow(() -> new InvalidStateTokenException("Invalid state token provided."));
     }
 
-    // 토큰에서 USERID(유저 식별자)만 추출한다.
+    // 토큰에서 USERID(유저 식별자)만 추출한다. 유효하지 않은 토큰이면 파싱 예외가 발생한다.
     public int getUserIdx(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("userIdx", Integer.class);
+        SecurityUserDto user = getVerifiedUser(token);
+        if (user != null) {
+            return user.getUserIdx();
+        }
+        return parseClaims(token).get("userIdx", Integer.class);
     }
 
-    // 토큰에서 ROLE(권한)만 추출한다.
+    // 토큰에서 ROLE(권한)만 추출한다. 유효하지 않은 토큰이면 파싱 예외가 발생한다.
     public String getUserRole(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role", String.class);
+        SecurityUserDto user = getVerifiedUser(token);
+        if (user != null) {
+            return user.getRole();
+        }
+        return parseClaims(token).get("role", String.class);
     }
 
     /**
@@ -160,12 +197,7 @@ public class JwtUtil {
      * @return 남은 유효 시간(분)
      */
     public long getRemainingExpirationTimeInMinutes(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+        Date expiration = parseClaims(token).getExpiration();
         long diff = expiration.getTime() - System.currentTimeMillis();
         return diff / (60 * 1000); // 밀리초를 분으로 변환
     }
@@ -177,11 +209,7 @@ public class JwtUtil {
      * @return 클레임 Map
      */
     public Map<String, Object> getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
     }
 
     public String getAccessTokenFromRequest(HttpServletRequest httpServletRequest) {
@@ -191,9 +219,25 @@ public class JwtUtil {
         return jwtToken;
     }
 
+    // JwtAuthFilter를 거친 요청이면 이미 검증한 사용자 정보를 그대로 쓴다.
     public int getUserIdxFromRequest(HttpServletRequest httpServletRequest) {
+        if (httpServletRequest.getAttribute(AUTHENTICATED_USER_ATTRIBUTE) instanceof SecurityUserDto user) {
+            return user.getUserIdx();
+        }
         return getUserIdx(getAccessTokenFromRequest(httpServletRequest));
     }
 
+    // JwtAuthFilter가 사용자 상태 캐시(또는 DB)에서 읽은 현재 권한. 토큰 발급 뒤에 바뀐 권한도 반영된다.
+    public String getUserRoleFromRequest(HttpServletRequest httpServletRequest) {
+        if (httpServletRequest.getAttribute(AUTHENTICATED_USER_ATTRIBUTE) instanceof SecurityUserDto user) {
+            return user.getRole();
+        }
+        return getUserRole(getAccessTokenFromRequest(httpServletRequest));
+    }
+
+    private Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
 
 }
\ No newline at end of file
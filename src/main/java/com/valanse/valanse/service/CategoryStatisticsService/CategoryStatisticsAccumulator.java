@@ -0,0 +1,127 @@
+package com.valanse.valanse.service.CategoryStatisticsService;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한 카테고리에서 아직 DB에 반영하지 않은 답변 점수.
+ * 동시에 들어오는 답변이 잠금 하나에 몰리지 않도록 스레드마다 다른 샤드에 쌓고, 읽거나 비울 때 샤드를 합친다.
+ */
+class CategoryStatisticsAccumulator {
+
+    private final Shard[] shards;
+
+    CategoryStatisticsAccumulator(int shardCount) {
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    void record(int score, LocalDateTime hour) {
+        shards[Math.floorMod(Long.hashCode(Thread.currentThread().getId()), shards.length)].record(score, hour);
+    }
+
+    // 쌓인 값을 비우지 않고 합쳐서 본다.
+    Snapshot peek() {
+        Snapshot snapshot = Snapshot.EMPTY;
+        for (Shard shard : shards) {
+            snapshot = snapshot.plus(shard.snapshot(false));
+        }
+        return snapshot;
+    }
+
+    // 쌓인 값을 합쳐서 꺼내고 비운다.
+    Snapshot drain() {
+        Snapshot snapshot = Snapshot.EMPTY;
+        for (Shard shard : shards) {
+            snapshot = snapshot.plus(shard.snapshot(true));
+        }
+        return snapshot;
+    }
+
+    // 반영에 실패한 값을 되돌린다.
+    void restore(Snapshot snapshot) {
+        shards[0].add(snapshot);
+    }
+
+    record Snapshot(ScoreStats total, Map<LocalDateTime, ScoreStats> hourly) {
+
+        static final Snapshot EMPTY = new Snapshot(ScoreStats.EMPTY, Map.of());
+
+        boolean isEmpty() {
+            return total.count() == 0;
+        }
+
+        Snapshot plus(Snapshot other) {
+            if (other.isEmpty()) {
+                return this;
+            }
+            if (isEmpty()) {
+                return other;
+            }
+            Map<LocalDateTime, ScoreStats> mergedHourly = new HashMap<>(hourly);
+            other.hourly.forEach((hour, stats) -> mergedHourly.merge(hour, stats, ScoreStats::plus));
+            return new Snapshot(total.plus(other.total), mergedHourly);
+        }
+    }
+
+    private static final class Shard {
+
+        private long count;
+        private long sum;
+        private long sumSquares;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        private final Map<LocalDateTime, long[]> hourly = new HashMap<>(); // 구간 -> {답변 수, 점수 합}
+
+        private synchronized void record(int score, LocalDateTime hour) {
+            count++;
+            sum += score;
+            sumSquares += (long) score * score;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+
+            long[] bucket = hourly.computeIfAbsent(hour, key -> new long[2]);
+            bucket[0]++;
+            bucket[1] += score;
+        }
+
+        private synchronized Snapshot snapshot(boolean reset) {
+            if (count == 0) {
+                return Snapshot.EMPTY;
+            }
+
+            Map<LocalDateTime, ScoreStats> hourlyStats = new HashMap<>();
+            hourly.forEach((hour, bucket) -> hourlyStats.put(hour, new ScoreStats(bucket[0], bucket[1], 0, null, null)));
+            Snapshot snapshot = new Snapshot(new ScoreStats(count, sum, sumSquares, min, max), hourlyStats);
+
+            if (reset) {
+                count = 0;
+                sum = 0;
+                sumSquares = 0;
+                min = Integer.MAX_VALUE;
+                max = Integer.MIN_VALUE;
+                hourly.clear();
+            }
+            return snapshot;
+        }
+
+        private synchronized void add(Snapshot snapshot) {
+            if (snapshot.isEmpty()) {
+                return;
+            }
+            count += snapshot.total().count();
+            sum += snapshot.total().sum();
+            sumSquares += snapshot.total().sumSquares();
+            min = Math.min(min, snapshot.total().min());
+            max = Math.max(max, snapshot.total().max());
+            snapshot.hourly().forEach((hour, stats) -> {
+                long[] bucket = hourly.computeIfAbsent(hour, key -> new long[2]);
+                bucket[0] += stats.count();
+                bucket[1] += stats.sum();
+            });
+        }
+    }
+}
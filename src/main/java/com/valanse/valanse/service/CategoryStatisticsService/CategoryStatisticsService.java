@@ -0,0 +1,16 @@
+package com.valanse.valanse.service.CategoryStatisticsService;
+
+import com.valanse.valanse.dto.CategoryStatisticsDto;
+
+import java.util.List;
+
+public interface CategoryStatisticsService {
+
+    void recordAnswer(Integer quizId, int preference); // 커밋된 답변 한 건을 퀴즈의 카테고리 통계에 더한다
+
+    List<CategoryStatisticsDto> getAllStatistics(); // 전체 카테고리 통계 (시간대별 추이 제외)
+
+    CategoryStatisticsDto getStatistics(String category); // 카테고리 통계와 최근 시간대별 추이
+
+    void flush(); // 메모리에 모인 증가분을 DB에 반영
+}
@@ -0,0 +1,271 @@
+package com.valanse.valanse.service.CategoryStatisticsService;
+
+import com.valanse.valanse.dto.CategoryStatisticsBucketDto;
+import com.valanse.valanse.dto.CategoryStatisticsDeltaDto;
+import com.valanse.valanse.dto.CategoryStatisticsDto;
+import com.valanse.valanse.repository.jdbc.CategoryStatisticsJdbcRepository;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 카테고리 통계를 답변마다 읽고-수정하고-쓰지 않고, 메모리 누적기에 모았다가 주기적으로 한 번에 반영한다.
+ * 조회는 DB에서 읽어 둔 누계에 아직 반영하지 않은 증가분을 더해 DB 없이 답한다.
+ * 다른 인스턴스가 반영한 증가분은 주기적으로 누계를 다시 읽어 따라잡는다.
+ *
+ * 조회가 반영 도중의 값을 빠뜨리거나 두 번 세지 않도록, 누계와 반영 중인 증가분은 한 객체(View)로 묶어 통째로 바꾼다.
+ * 누적기를 비우고 반영 중인 증가분으로 옮기는 동안은 쓰기 잠금을 잡고, 조회는 낙관적 읽기로 그 사이에 끼었는지 확인한다.
+ * 메모리의 모든 맵은 QuizCategoryIndex.normalize한 키를 쓴다. DB가 대소문자만 다른 카테고리를 한 행에 더하므로 메모리에서도 한 곳에 모은다.
+ */
+@Slf4j
+@Service
+public class CategoryStatisticsServiceImpl implements CategoryStatisticsService {
+
+    private static final int SHARD_COUNT = 8;
+
+    private final CategoryStatisticsJdbcRepository categoryStatisticsJdbcRepository;
+    private final QuizCategoryIndex quizCategoryIndex;
+    private final int seriesHours;
+    private final int hourlyRetentionDays;
+
+    // 카테고리 -> 아직 반영하지 않은 증가분. 누적기는 지우지 않고 재사용하여 증가분 유실을 막는다.
+    private final Map<String, CategoryStatisticsAccumulator> pending = new ConcurrentHashMap<>();
+
+    private volatile View view = new View(Map.of(), Map.of(), Map.of());
+
+    // normalize한 키 -> 보여줄 이름. DB에 있는 이름을 우선한다.
+    private final Map<String, String> categoryNames = new ConcurrentHashMap<>();
+
+    // 쓰기 잠금: 누적기를 비워 반영 중인 증가분으로 옮기는 동안. 조회는 이 구간과 겹치면 다시 읽는다.
+    private final StampedLock drainLock = new StampedLock();
+
+    public CategoryStatisticsServiceImpl(CategoryStatisticsJdbcRepository categoryStatisticsJdbcRepository,
+                                         QuizCategoryIndex quizCategoryIndex,
+                                         @Value("${valanse.category-statistics.series-hours:24}") int seriesHours,
+                                         @Value("${valanse.category-statistics.hourly-retention-days:30}") int hourlyRetentionDays) {
+        this.categoryStatisticsJdbcRepository = categoryStatisticsJdbcRepository;
+        this.quizCategoryIndex = quizCategoryIndex;
+        this.seriesHours = seriesHours;
+        this.hourlyRetentionDays = hourlyRetentionDays;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @Override
+    public void recordAnswer(Integer quizId, int preference) {
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        for (String category : quizCategoryIndex.getCategories(quizId)) {
+            String key = QuizCategoryIndex.normalize(category);
+            categoryNames.putIfAbsent(key, category);
+            pending.computeIfAbsent(key, k -> new CategoryStatisticsAccumulator(SHARD_COUNT)).record(preference, hour);
+        }
+    }
+
+    @Override
+    public List<CategoryStatisticsDto> getAllStatistics() {
+        Set<String> categories = new TreeSet<>(view.totals().keySet());
+        categories.addAll(pending.keySet());
+
+        return categories.stream()
+                .map(category -> toDto(category, false))
+                .filter(statistics -> statistics.getTotalAnswers() > 0)
+                .toList();
+    }
+
+    @Override
+    public CategoryStatisticsDto getStatistics(String category) {
+        return toDto(category, true);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${valanse.category-statistics.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<String, CategoryStatisticsAccumulator.Snapshot> drained = new HashMap<>();
+        long stamp = drainLock.writeLock();
+        try {
+            pending.forEach((category, accumulator) -> {
+                CategoryStatisticsAccumulator.Snapshot snapshot = accumulator.drain();
+                if (!snapshot.isEmpty()) {
+                    drained.put(category, snapshot);
+                }
+            });
+            if (!drained.isEmpty()) {
+                View current = view;
+                view = new View(current.totals(), current.hourly(), drained);
+            }
+        } finally {
+            drainLock.unlockWrite(stamp);
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<CategoryStatisticsDeltaDto> totalDeltas = new ArrayList<>();
+        List<CategoryStatisticsDeltaDto> hourlyDeltas = new ArrayList<>();
+        drained.forEach((key, snapshot) -> {
+            String category = categoryNames.getOrDefault(key, key);
+            ScoreStats total = snapshot.total();
+            totalDeltas.add(CategoryStatisticsDeltaDto.builder()
+                    .category(category)
+                    .totalAnswers(total.count())
+                    .totalScore(total.sum())
+                    .totalScoreSquares(total.sumSquares())
+                    .minScore(total.min())
+                    .maxScore(total.max())
+                    .build());
+            snapshot.hourly().forEach((hour, stats) -> hourlyDeltas.add(CategoryStatisticsDeltaDto.builder()
+                    .category(category)
+                    .bucketHour(hour)
+                    .totalAnswers(stats.count())
+                    .totalScore(stats.sum())
+                    .build()));
+        });
+
+        try {
+            categoryStatisticsJdbcRepository.addStatistics(totalDeltas, hourlyDeltas);
+        } catch (Exception e) {
+            // 반영에 실패한 증가분은 되돌려 다음 주기에 다시 시도한다.
+            long restoreStamp = drainLock.writeLock();
+            try {
+                drained.forEach((category, snapshot) ->
+                        pending.computeIfAbsent(category, key -> new CategoryStatisticsAccumulator(SHARD_COUNT)).restore(snapshot));
+                View current = view;
+                view = new View(current.totals(), current.hourly(), Map.of());
+            } finally {
+                drainLock.unlockWrite(restoreStamp);
+            }
+            log.error("Failed to flush statistics for {} categories", drained.size(), e);
+            return;
+        }
+
+        // 반영한 증가분을 읽기용 누계로 옮긴다. 누계와 반영 중인 증가분을 한 번에 바꿔 두 번 세지 않게 한다.
+        View current = view;
+        Map<String, ScoreStats> newTotals = new HashMap<>(current.totals());
+        Map<String, Map<LocalDateTime, ScoreStats>> newHourly = new HashMap<>(current.hourly());
+        drained.forEach((category, snapshot) -> {
+            newTotals.merge(category, snapshot.total(), ScoreStats::plus);
+            Map<LocalDateTime, ScoreStats> series = new HashMap<>(newHourly.getOrDefault(category, Map.of()));
+            snapshot.hourly().forEach((hour, stats) -> series.merge(hour, stats, ScoreStats::plus));
+            newHourly.put(category, series);
+        });
+        view = new View(newTotals, newHourly, Map.of());
+
+        log.debug("Flushed statistics for {} categories", drained.size());
+    }
+
+    // 다른 인스턴스가 반영한 증가분까지 포함하도록 DB의 누계를 다시 읽는다. 반영과 겹치지 않도록 같은 잠금을 쓴다.
+    @Scheduled(initialDelayString = "${valanse.category-statistics.reload-interval-ms:60000}",
+            fixedDelayString = "${valanse.category-statistics.reload-interval-ms:60000}")
+    public synchronized void reload() {
+        Map<String, ScoreStats> newTotals = new HashMap<>();
+        for (CategoryStatisticsDeltaDto row : categoryStatisticsJdbcRepository.findAll()) {
+            String key = QuizCategoryIndex.normalize(row.getCategory());
+            categoryNames.put(key, row.getCategory());
+            newTotals.merge(key, new ScoreStats(
+                    row.getTotalAnswers(), row.getTotalScore(), row.getTotalScoreSquares(), row.getMinScore(), row.getMaxScore()), ScoreStats::plus);
+        }
+
+        Map<String, Map<LocalDateTime, ScoreStats>> newHourly = new HashMap<>();
+        for (CategoryStatisticsDeltaDto row : categoryStatisticsJdbcRepository.findHourlySince(seriesStart())) {
+            newHourly.computeIfAbsent(QuizCategoryIndex.normalize(row.getCategory()), key -> new HashMap<>())
+                    .merge(row.getBucketHour(), new ScoreStats(row.getTotalAnswers(), row.getTotalScore(), 0, null, null), ScoreStats::plus);
+        }
+
+        // flush와 같은 잠금 안이므로 반영 중인 증가분은 없다.
+        view = new View(newTotals, newHourly, Map.of());
+        log.debug("Category statistics reloaded: {} categories", newTotals.size());
+    }
+
+    @Scheduled(fixedDelayString = "${valanse.category-statistics.purge-interval-ms:3600000}")
+    public void purgeHourly() {
+        int deleted = categoryStatisticsJdbcRepository.deleteHourlyBefore(LocalDateTime.now().minusDays(hourlyRetentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} hourly category statistics rows", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending category statistics before shutdown");
+        flush();
+    }
+
+    private CategoryStatisticsDto toDto(String category, boolean withSeries) {
+        String key = QuizCategoryIndex.normalize(category);
+        // 누적기를 비우는 도중에 읽었다면 잠금을 잡고 다시 읽는다.
+        long stamp = drainLock.tryOptimisticRead();
+        View current = view;
+        CategoryStatisticsAccumulator.Snapshot live = liveSnapshot(current, key);
+        if (!drainLock.validate(stamp)) {
+            stamp = drainLock.readLock();
+            try {
+                current = view;
+                live = liveSnapshot(current, key);
+            } finally {
+                drainLock.unlockRead(stamp);
+            }
+        }
+
+        ScoreStats total = current.totals().getOrDefault(key, ScoreStats.EMPTY).plus(live.total());
+
+        CategoryStatisticsDto.CategoryStatisticsDtoBuilder builder = CategoryStatisticsDto.builder()
+                .category(categoryNames.getOrDefault(key, category))
+                .totalAnswers(total.count())
+                .totalScore(total.sum())
+                .avgPreference(total.average())
+                .variance(total.variance())
+                .minScore(total.min())
+                .maxScore(total.max());
+
+        if (withSeries) {
+            Map<LocalDateTime, ScoreStats> stored = current.hourly().getOrDefault(key, Map.of());
+            List<CategoryStatisticsBucketDto> series = new ArrayList<>(seriesHours);
+            LocalDateTime end = currentHour();
+            for (LocalDateTime hour = seriesStart(); !hour.isAfter(end); hour = hour.plusHours(1)) {
+                ScoreStats stats = stored.getOrDefault(hour, ScoreStats.EMPTY).plus(live.hourly().getOrDefault(hour, ScoreStats.EMPTY));
+                series.add(CategoryStatisticsBucketDto.builder()
+                        .hour(hour)
+                        .totalAnswers(stats.count())
+                        .avgPreference(stats.average())
+                        .build());
+            }
+            builder.hourly(series);
+        }
+        return builder.build();
+    }
+
+    // 아직 반영하지 않았거나 반영 중인 증가분
+    private CategoryStatisticsAccumulator.Snapshot liveSnapshot(View current, String key) {
+        CategoryStatisticsAccumulator.Snapshot snapshot = current.inFlight().getOrDefault(key, CategoryStatisticsAccumulator.Snapshot.EMPTY);
+        CategoryStatisticsAccumulator accumulator = pending.get(key);
+        return accumulator == null ? snapshot : snapshot.plus(accumulator.peek());
+    }
+
+    private LocalDateTime currentHour() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private LocalDateTime seriesStart() {
+        return currentHour().minusHours(seriesHours - 1L);
+    }
+
+    // DB에서 읽은 누계와 최근 시간대별 값(그 뒤 이 인스턴스가 반영한 증가분 포함), 그리고 반영 중인 증가분
+    private record View(Map<String, ScoreStats> totals,
+                        Map<String, Map<LocalDateTime, ScoreStats>> hourly,
+                        Map<String, CategoryStatisticsAccumulator.Snapshot> inFlight) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.valanse.valanse.service.CategoryStatisticsService;
+
+/**
+ * 선호도 점수의 누적 통계. 개수, 합, 제곱합, 최소, 최대만 들고 있어 서로 더할 수 있고 평균과 분산을 바로 구할 수 있다.
+ */
+record ScoreStats(long count, long sum, long sumSquares, Integer min, Integer max) {
+
+    static final ScoreStats EMPTY = new ScoreStats(0, 0, 0, null, null);
+
+    ScoreStats plus(ScoreStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        return new ScoreStats(
+                count + other.count,
+                sum + other.sum,
+                sumSquares + other.sumSquares,
+                min(min, other.min),
+                max(max, other.max));
+    }
+
+    Double average() {
+        return count == 0 ? null : (double) sum / count;
+    }
+
+    // 시간대별 값처럼 최소/최대를 세지 않은 쪽(null)은 무시한다.
+    private static Integer min(Integer a, Integer b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : Integer.valueOf(Math.min(a, b));
+    }
+
+    private static Integer max(Integer a, Integer b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : Integer.valueOf(Math.max(a, b));
+    }
+
+    // 모분산: E[X^2] - E[X]^2
+    Double variance() {
+        if (count == 0) {
+            return null;
+        }
+        double mean = (double) sum / count;
+        return Math.max(0, (double) sumSquares / count - mean * mean);
+    }
+}
@@ -6,13 +6,15 @@ import com.valanse.valanse.dto.CommentRegisterDto;
 import com.valanse.valanse.entity.Comment;
 import com.valanse.valanse.entity.CommentQuiz;
 import com.valanse.valanse.entity.Quiz;
-import com.valanse.valanse.entity.QuizCategory;
+import com.valanse.valanse.event.CommentEvent;
 import com.valanse.valanse.repository.jpa.*;
 import com.valanse.valanse.security.util.JwtUtil;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,7 +36,8 @@ public class CommentServiceImpl implements CommentService {
     private final QuizRepository quizRepository;
     private final JwtUtil jwtUtil;
     private final UserCategoryPreferenceRepository userCategoryPreferenceRepository;
-    private final QuizCategoryRepository quizCategoryRepository;
+    private final QuizCategoryIndex quizCategoryIndex;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
 //    private static final Set<String> profanityWords = Set.of(
 //            "비속어 목록"
@@ -81,13 +84,13 @@ public class CommentServiceImpl implements CommentService {
 
             commentQuizRepository.save(commentQuiz);
 
-            List<QuizCategory> quizCategories = quizCategoryRepository.findByQuizId(quiz.getQuizId());
-            List<String> categories = quizCategories.stream()
-                    .map(QuizCategory::getCategory)
-                    .collect(Collectors.toList());
+            List<String> categories = quizCategoryIndex.getCategories(quiz.getQuizId());
 
             userCategoryPreferenceRepository.incrementCommentCounts(userIdx, categories);
 
+            // 급상승 점수는 댓글이 커밋된 뒤에 반영한다.
+            applicationEventPublisher.publishEvent(new CommentEvent(quiz.getQuizId()));
+
         } catch (EntityNotFoundException e) {
             log.error("Entity not found when registering comment for quiz id: {}", commentRegisterDto.getQuizId(), e);
             throw e;
@@ -4,24 +4,38 @@ import com.amazonaws.SdkClientException;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import com.valanse.valanse.exception.S3Exception;
+import com.valanse.valanse.repository.jdbc.ImageBlobJdbcRepository;
+import com.valanse.valanse.util.HashUtil;
+import com.valanse.valanse.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 이미지는 내용의 SHA-256을 키로 삼아 저장한다({해시}.{확장자}). 같은 내용이면 S3에 다시 올리지 않고 기존 객체를 가리킨다.
+ * 여러 퀴즈가 한 객체를 가리킬 수 있으므로 image_blob 테이블에 참조 수를 두고, 마지막 참조가 지워질 때만 객체를 지운다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class S3ImageService {
 
     private final AmazonS3 amazonS3;
-//    private Set<String> uploadedFileNames = new HashSet<>();
-//    private Set<Long> uploadedFileSizes = new HashSet<>();
+    private final ImageBlobJdbcRepository imageBlobJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
@@ -32,22 +46,137 @@ public class S3ImageService {
     @Value("${cloud.aws.cloud-front}")
     private String cloudFront;
 
+    @Value("${valanse.image.upload-threads:8}")
+    private int uploadThreads;
 
-    // 단일 이미지 저장
+    @Value("${valanse.image.upload-queue-capacity:100}")
+    private int uploadQueueCapacity;
+
+    // 이보다 큰 파일은 여러 조각으로 나눠 동시에 올린다(멀티파트 업로드).
+    @Value("${valanse.image.multipart-threshold-bytes:8388608}")
+    private long multipartThreshold;
+
+    @Value("${valanse.image.hash-cache-size:10000}")
+    private int hashCacheSize;
+
+    @Value("${valanse.image.hash-cache-ttl-ms:3600000}")
+    private long hashCacheTtlMillis;
+
+    private ExecutorService uploadExecutor;
+    private TransferManager transferManager;
+
+    // 내용 해시 -> 이 인스턴스가 올렸거나 존재를 확인한 객체 키. 맞으면 테이블 조회와 존재 확인 없이 참조 수만 늘린다.
+    private LruCache<String, String> objectKeyCache;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // 큐가 가득 차면 요청 스레드에서 바로 올려, 대기 작업이 끝없이 쌓이지 않게 한다.
+        uploadExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(uploadQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        transferManager = TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withMultipartUploadThreshold(multipartThreshold)
+                .build();
+
+        objectKeyCache = new LruCache<>(hashCacheSize, hashCacheTtlMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+        transferManager.shutdownNow(false); // S3 클라이언트는 다른 곳과 같이 쓰므로 닫지 않는다.
+    }
+
+    /**
+     * 여러 이미지를 동시에 올리고 요청한 순서대로 URL을 반환한다. null이거나 빈 파일 자리는 null이다.
+     * 하나라도 실패하면 이미 올라간 이미지의 참조는 되돌리고 예외를 던진다.
+     * DB 트랜잭션 밖에서 호출해 업로드하는 동안 DB 연결을 잡고 있지 않도록 한다.
+     */
+    public List<String> uploadImages(List<MultipartFile> files) {
+        List<CompletableFuture<String>> uploads = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            uploads.add(file == null || file.isEmpty()
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.supplyAsync(() -> uploadImage(file), uploadExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            releaseImages(uploads.stream()
+                    .filter(upload -> !upload.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .toList());
+            if (e.getCause() instanceof S3Exception s3Exception) {
+                throw s3Exception;
+            }
+            throw new S3Exception("Error while uploading images", e.getCause());
+        }
+
+        return uploads.stream().map(CompletableFuture::join).toList();
+    }
+
+    // 이미지 참조를 지운다. 실패한 작업을 되돌리거나 더 이상 쓰지 않는 이미지를 정리하는 용도이므로 실패해도 예외를 던지지 않는다.
+    public void releaseImages(List<String> fileUrls) {
+        for (String fileUrl : fileUrls) {
+            if (fileUrl == null) {
+                continue;
+            }
+            try {
+                deleteImage(fileUrl);
+            } catch (RuntimeException e) {
+                log.warn("Failed to release image " + fileUrl + ": " + e.getMessage());
+            }
+        }
+    }
+
+
+    // 단일 이미지 저장. 같은 내용의 이미지가 이미 있으면 올리지 않고 그 URL을 돌려준다.
     public String uploadImage(MultipartFile file) {
 
-        String randomFilename = generateRandomFilename(file);
-        log.info("File upload started: " + randomFilename);
+        String fileExtension = validateFileExtension(file.getOriginalFilename());
 
         try {
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(file.getSize());
-            metadata.setContentType(file.getContentType());
+            // 올리기 전에 해시로 키를 정해야 하므로 먼저 내용을 한 번 훑는다. (메모리나 임시 파일에 있는 요청 본문이므로 S3 업로드보다 훨씬 싸다.)
+            String contentHash = HashUtil.sha256Hex(file.getInputStream());
+
+            String cachedKey = objectKeyCache.get(contentHash);
+            if (cachedKey != null && imageBlobJdbcRepository.incrementRefCount(contentHash)) {
+                log.info("Duplicate file reused: " + cachedKey);
+                return cloudFront + cachedKey;
+            }
+
+            String objectKey = contentHash + "." + fileExtension;
+            boolean created = imageBlobJdbcRepository.insertOrIncrementRefCount(contentHash, objectKey, file.getSize());
+            try {
+                if (!created) {
+                    // 같은 내용이 다른 확장자로 먼저 올라갔을 수 있다.
+                    objectKey = imageBlobJdbcRepository.findObjectKey(contentHash).orElse(objectKey);
+                }
 
-            amazonS3.putObject(bucket, randomFilename, file.getInputStream(), metadata);
-            log.info("File upload completed: " + randomFilename);
+                // 먼저 등록한 요청이 아직 올리는 중이거나 실패했을 수 있으므로 객체가 있는지 확인한다. 같은 키에 같은 내용이므로 다시 올려도 무방하다.
+                if (!created && amazonS3.doesObjectExist(bucket, objectKey)) {
+                    log.info("Duplicate file reused: " + objectKey);
+                } else {
+                    log.info("File upload started: " + objectKey);
+                    putObject(file, objectKey);
+                    log.info("File upload completed: " + objectKey);
+                }
+            } catch (RuntimeException | IOException | InterruptedException e) {
+                imageBlobJdbcRepository.releaseFailedUpload(contentHash);
+                throw e;
+            }
 
-            return cloudFront + randomFilename;
+            objectKeyCache.put(contentHash, objectKey);
+            return cloudFront + objectKey;
 
 
         } catch (AmazonS3Exception e) {
@@ -59,24 +188,55 @@ public class S3ImageService {
         } catch (IOException e) {
             log.error("IO error while uploading file: " + e.getMessage());
             throw new S3Exception("IO error while uploading file", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new S3Exception("Interrupted while uploading file", e);
         }
     }
 
-    // 파일 삭제
+    // 파일 삭제. 해시 주소로 올린 이미지는 참조 수를 줄이고, 더 이상 가리키는 곳이 없을 때만 S3 객체를 지운다.
     public void deleteImage(String fileUrl) {
-        String[] urlParts = fileUrl.split("/");
-        String fileBucket = urlParts[2].split("\\.")[0];
+        String objectKey = toObjectKey(fileUrl);
 
-        if (!fileBucket.equals(bucket)) {
-            throw new S3Exception("Invalid bucket name in URL");
+        Boolean removed = transactionTemplate.execute(status -> {
+            Optional<Integer> refCount = imageBlobJdbcRepository.findRefCountForUpdate(objectKey);
+            if (refCount.isEmpty()) {
+                return null;
+            }
+            if (refCount.get() > 1) {
+                imageBlobJdbcRepository.decrementRefCount(objectKey);
+                return false;
+            }
+            // 행 잠금을 쥔 채로 객체를 지워, 같은 내용을 올리는 요청이 지워질 객체를 재사용하지 않게 한다.
+            deleteObject(objectKey);
+            imageBlobJdbcRepository.deleteByObjectKey(objectKey);
+            return true;
+        });
+
+        if (removed == null) {
+            // 해시 주소를 쓰기 전에 올린 이미지는 참조를 세지 않으므로 바로 지운다.
+            if (!amazonS3.doesObjectExist(bucket, objectKey)) {
+                throw new S3Exception("File does not exist in S3");
+            }
+            deleteObject(objectKey);
+        } else if (removed) {
+            objectKeyCache.remove(objectKey.substring(0, objectKey.lastIndexOf('.')));
         }
+    }
 
-        String objectKey = String.join("/", Arrays.copyOfRange(urlParts, 3, urlParts.length));
+    private void putObject(MultipartFile file, String objectKey) throws IOException, InterruptedException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(file.getSize());
+        metadata.setContentType(file.getContentType());
 
-        if (!amazonS3.doesObjectExist(bucket, objectKey)) {
-            throw new S3Exception("File does not exist in S3");
+        if (file.getSize() >= multipartThreshold) {
+            transferManager.upload(bucket, objectKey, file.getInputStream(), metadata).waitForCompletion();
+        } else {
+            amazonS3.putObject(bucket, objectKey, file.getInputStream(), metadata);
         }
+    }
 
+    private void deleteObject(String objectKey) {
         try {
             amazonS3.deleteObject(bucket, objectKey);
             log.info("File delete complete: " + objectKey);
@@ -89,35 +249,20 @@ public class S3ImageService {
         }
     }
 
+    // 업로드 때 돌려준 CloudFront URL이나 S3 URL에서 객체 키를 꺼낸다.
+    private String toObjectKey(String fileUrl) {
+        if (fileUrl.startsWith(cloudFront)) {
+            return fileUrl.substring(cloudFront.length());
+        }
+
+        String[] urlParts = fileUrl.split("/");
+        String fileBucket = urlParts[2].split("\\.")[0];
+
+        if (!fileBucket.equals(bucket)) {
+            throw new S3Exception("Invalid bucket name in URL");
+        }
 
-//    // 요청에 중복되는 파일 여부 확인
-//    // TODO 입력되는 사진이 동일한 파일이라면 하나만 저장하도록 처리하는게 좋다..
-//    private boolean isDuplicate(MultipartFile multipartFile) {
-//        String fileName = multipartFile.getOriginalFilename();
-//        Long fileSize = multipartFile.getSize();
-//
-//        if (uploadedFileNames.contains(fileName) && uploadedFileSizes.contains(fileSize)) {
-//            return true;
-//        }
-//
-//        uploadedFileNames.add(fileName);
-//        uploadedFileSizes.add(fileSize);
-//
-//        return false;
-//    }
-//
-//    private void clear() {
-//        uploadedFileNames.clear();
-//        uploadedFileSizes.clear();
-//    }
-
-    // 파일명 생성 (파일명 중복 방지)
-    // 랜덤파일명 생성 (파일명 중복 방지)
-    private String generateRandomFilename(MultipartFile multipartFile) {
-        String originalFilename = multipartFile.getOriginalFilename();
-        String fileExtension = validateFileExtension(originalFilename);
-        String randomFilename = UUID.randomUUID() + "." + fileExtension;
-        return randomFilename;
+        return String.join("/", Arrays.copyOfRange(urlParts, 3, urlParts.length));
     }
 
     // 파일 확장자 체크
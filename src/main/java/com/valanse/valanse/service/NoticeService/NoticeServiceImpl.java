@@ -5,6 +5,7 @@ import com.valanse.valanse.dto.NoticeRegisterDto;
 import com.valanse.valanse.entity.Notice;
 import com.valanse.valanse.repository.jpa.NoticeRepository;
 import com.valanse.valanse.security.util.JwtUtil;
+import com.valanse.valanse.service.ViewCountService.ViewCountService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -24,14 +25,14 @@ public class NoticeServiceImpl implements NoticeService {
 
     private final NoticeRepository noticeRepository;
     private final JwtUtil jwtUtil;
+    private final ViewCountService viewCountService;
 
     @Override
     public void registerNotice(HttpServletRequest httpServletRequest, NoticeRegisterDto noticeRegisterDto) {
         try {
             int userIdx = jwtUtil.getUserIdxFromRequest(httpServletRequest);
 
-            String token = jwtUtil.getAccessTokenFromRequest(httpServletRequest);
-            String userRole = jwtUtil.getUserRole(token);
+            String userRole = jwtUtil.getUserRoleFromRequest(httpServletRequest);
 
             // 'role' 이 'admin' 이 아니면 예외 처리
             if (!"admin".equals(userRole)) {
@@ -54,7 +55,6 @@ public class NoticeServiceImpl implements NoticeService {
     }
 
     @Override
-    @Transactional
     public NoticeDto getNotice(Integer noticeId) {
         Notice notice = noticeRepository.findById(noticeId).orElseThrow(EntityNotFoundException::new);
 
@@ -65,7 +65,7 @@ public class NoticeServiceImpl implements NoticeService {
                 .authorId(notice.getAuthorId())
                 .createdAt(notice.getCreatedAt())
                 .updatedAt(notice.getUpdatedAt())
-                .views(notice.getViews())
+                .views(currentViews(notice))
                 .build();
     }
 
@@ -79,7 +79,7 @@ public class NoticeServiceImpl implements NoticeService {
                         .authorId(notice.getAuthorId())
                         .createdAt(notice.getCreatedAt())
                         .updatedAt(notice.getUpdatedAt())
-                        .views(notice.getViews())
+                        .views(currentViews(notice))
                         .build())
                 .collect(Collectors.toList());
     }
@@ -88,8 +88,7 @@ public class NoticeServiceImpl implements NoticeService {
     @Transactional
     public void updateNotice(HttpServletRequest httpServletRequest, Integer noticeId, NoticeRegisterDto noticeRegisterDto) {
         try {
-            String token = jwtUtil.getAccessTokenFromRequest(httpServletRequest);
-            String userRole = jwtUtil.getUserRole(token);
+            String userRole = jwtUtil.getUserRoleFromRequest(httpServletRequest);
 
             Notice existingNotice = noticeRepository.findById(noticeId).orElseThrow(EntityNotFoundException::new);
 
@@ -118,8 +117,7 @@ public class NoticeServiceImpl implements NoticeService {
     @Transactional
     public void deleteNotice(HttpServletRequest httpServletRequest, Integer noticeId) {
         try {
-            String token = jwtUtil.getAccessTokenFromRequest(httpServletRequest);
-            String userRole = jwtUtil.getUserRole(token);
+            String userRole = jwtUtil.getUserRoleFromRequest(httpServletRequest);
 
             Notice notice = noticeRepository.findById(noticeId).orElseThrow(EntityNotFoundException::new);
 
@@ -136,8 +134,17 @@ public class NoticeServiceImpl implements NoticeService {
 
     @Override
     public void increaseView(Integer noticeId) {
-        Notice notice = noticeRepository.findById(noticeId).orElseThrow(EntityNotFoundException::new);
+        if (!noticeRepository.existsById(noticeId)) {
+            throw new EntityNotFoundException();
+        }
+
+        // 조회수는 메모리에 모았다가 주기적으로 한 번에 반영한다.
+        viewCountService.increaseNoticeView(noticeId);
+    }
 
-        noticeRepository.increaseView(notice.getNoticeId());
+    // DB에 저장된 조회수에 아직 반영되지 않은 조회수를 더한다.
+    private Integer currentViews(Notice notice) {
+        int views = notice.getViews() != null ? notice.getViews() : 0;
+        return views + (int) viewCountService.getPendingNoticeViews(notice.getNoticeId());
     }
 }
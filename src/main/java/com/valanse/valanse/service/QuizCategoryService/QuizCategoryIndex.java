@@ -0,0 +1,156 @@
+package com.valanse.valanse.service.QuizCategoryService;
+
+import com.valanse.valanse.entity.QuizCategory;
+import com.valanse.valanse.repository.jpa.QuizCategoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * quiz_category 테이블을 메모리에 올려둔 양방향 인덱스(quizId <-> category).
+ * 답변/댓글마다 반복되던 findByQuizId 조회를 대신한다.
+ * 이 인스턴스의 변경은 퀴즈 변경 이벤트로 즉시, 다른 인스턴스의 변경은 조회 실패 시 DB 적재와 주기적 재구성으로 반영된다.
+ * 카테고리로 찾을 때는 DB(utf8mb4_general_ci)처럼 대소문자와 앞뒤 공백을 무시하도록 normalize한 키를 쓰고, 이름은 처음 본 그대로 보여준다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QuizCategoryIndex {
+
+    private final QuizCategoryRepository quizCategoryRepository;
+
+    private volatile Map<Integer, List<String>> categoriesByQuiz = new ConcurrentHashMap<>();
+    private volatile Map<String, Set<Integer>> quizzesByCategory = new ConcurrentHashMap<>(); // normalize한 키 -> 퀴즈 식별자
+    private volatile Map<String, String> categoryNames = new ConcurrentHashMap<>(); // normalize한 키 -> 보여줄 이름
+
+    // 재구성 중에 들어온 변경 (quizId -> 변경 후 카테고리, 삭제면 빈 목록). 재구성 중이 아니면 null
+    private Map<Integer, List<String>> changesDuringRefresh;
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    // 퀴즈의 카테고리 목록
+    public List<String> getCategories(Integer quizId) {
+        List<String> categories = categoriesByQuiz.get(quizId);
+        if (categories != null) {
+            return categories;
+        }
+
+        // 다른 인스턴스에서 등록된 퀴즈일 수 있으므로 DB에서 한 번 읽어 채워둔다.
+        List<String> loaded = quizCategoryRepository.findByQuizId(quizId).stream()
+                .map(QuizCategory::getCategory)
+                .toList();
+        put(quizId, loaded);
+        return loaded;
+    }
+
+    // 메모리에서 카테고리를 찾거나 모을 때 쓰는 키. DB의 비교 규칙처럼 대소문자와 앞뒤 공백을 무시한다.
+    public static String normalize(String category) {
+        return category.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // 카테고리에 속한 퀴즈 식별자 목록 (오름차순). 대소문자와 앞뒤 공백은 무시한다.
+    public List<Integer> getQuizIds(String category) {
+        Set<Integer> quizIds = quizzesByCategory.get(normalize(category));
+        return quizIds == null ? List.of() : List.copyOf(quizIds);
+    }
+
+    // 카테고리 이름 목록. 대소문자만 다른 이름은 처음 본 것 하나로 나온다.
+    public Set<String> getAllCategories() {
+        return Set.copyOf(categoryNames.values());
+    }
+
+    public synchronized void put(Integer quizId, List<String> categories) {
+        List<String> distinctCategories = categories.stream().distinct().toList();
+
+        apply(categoriesByQuiz, quizzesByCategory, categoryNames, quizId, distinctCategories);
+        if (changesDuringRefresh != null) {
+            changesDuringRefresh.put(quizId, distinctCategories);
+        }
+    }
+
+    public synchronized void remove(Integer quizId) {
+        apply(categoriesByQuiz, quizzesByCategory, categoryNames, quizId, List.of());
+        if (changesDuringRefresh != null) {
+            changesDuringRefresh.put(quizId, List.of());
+        }
+    }
+
+    // 다른 인스턴스에서의 수정/삭제를 따라잡기 위해 주기적으로 전체를 다시 읽는다.
+    @Scheduled(initialDelayString = "${valanse.quiz-category-index.refresh-interval-ms:300000}",
+            fixedDelayString = "${valanse.quiz-category-index.refresh-interval-ms:300000}")
+    public void refresh() {
+        synchronized (this) {
+            changesDuringRefresh = new HashMap<>();
+        }
+
+        List<QuizCategory> quizCategories;
+        try {
+            quizCategories = quizCategoryRepository.findAll();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRefresh = null;
+            }
+            throw e;
+        }
+
+        Map<Integer, List<String>> newCategoriesByQuiz = new ConcurrentHashMap<>();
+        Map<String, Set<Integer>> newQuizzesByCategory = new ConcurrentHashMap<>();
+        Map<String, String> newCategoryNames = new ConcurrentHashMap<>();
+
+        quizCategories.stream()
+                .collect(Collectors.groupingBy(QuizCategory::getQuizId,
+                        Collectors.mapping(QuizCategory::getCategory, Collectors.toList())))
+                .forEach((quizId, categories) -> apply(newCategoriesByQuiz, newQuizzesByCategory, newCategoryNames, quizId, categories));
+
+        synchronized (this) {
+            // DB를 읽는 동안 이 인스턴스에서 발생한 변경이 덮어써지지 않도록 다시 적용한다.
+            changesDuringRefresh.forEach((quizId, categories) ->
+                    apply(newCategoriesByQuiz, newQuizzesByCategory, newCategoryNames, quizId, categories));
+            changesDuringRefresh = null;
+
+            categoriesByQuiz = newCategoriesByQuiz;
+            quizzesByCategory = newQuizzesByCategory;
+            categoryNames = newCategoryNames;
+        }
+
+        log.info("Quiz category index loaded: {} quizzes, {} categories", newCategoriesByQuiz.size(), newQuizzesByCategory.size());
+    }
+
+    private static void apply(Map<Integer, List<String>> categoriesByQuiz,
+                              Map<String, Set<Integer>> quizzesByCategory,
+                              Map<String, String> categoryNames,
+                              Integer quizId,
+                              List<String> categories) {
+        List<String> previous = categoriesByQuiz.put(quizId, List.copyOf(categories));
+
+        if (previous != null) {
+            for (String category : previous) {
+                String key = normalize(category);
+                Set<Integer> quizIds = quizzesByCategory.get(key);
+                if (quizIds != null) {
+                    quizIds.remove(quizId);
+                    if (quizIds.isEmpty()) {
+                        quizzesByCategory.remove(key);
+                        categoryNames.remove(key);
+                    }
+                }
+            }
+        }
+
+        for (String category : categories) {
+            String key = normalize(category);
+            quizzesByCategory.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(quizId);
+            categoryNames.putIfAbsent(key, category);
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.valanse.valanse.service.QuizCategoryService;
 
 import com.valanse.valanse.dto.QuizCategoryDto;
-import com.valanse.valanse.repository.jpa.QuizCategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -14,25 +14,30 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class QuizCategoryServicelmpl implements QuizCategoryService {
 
-    private final QuizCategoryRepository quizCategoryRepository;
+    private final QuizCategoryIndex quizCategoryIndex;
 
     @Override
     public List<QuizCategoryDto> getAllQuizByCategory(String category) {
-        return quizCategoryRepository.findByCategory(category).stream()
-                .map(quizCategory -> QuizCategoryDto.builder()
-                        .category(quizCategory.getCategory())
-                        .quizId(quizCategory.getQuizId())
+        return quizCategoryIndex.getQuizIds(category).stream()
+                .map(quizId -> QuizCategoryDto.builder()
+                        .category(category)
+                        .quizId(quizId)
                         .build())
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<QuizCategoryDto> searchCategory(String keyword) {
-        return quizCategoryRepository.findByCategoryContaining(keyword).stream()
-                .map(quizCategory -> QuizCategoryDto.builder()
-                        .category(quizCategory.getCategory())
-                        .quizId(quizCategory.getQuizId())
-                        .build())
+        // 카테고리 종류는 많지 않으므로 quiz_category 테이블을 LIKE로 훑는 대신 메모리 인덱스에서 찾는다.
+        // LIKE(utf8mb4_general_ci)처럼 대소문자는 구분하지 않는다.
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        return quizCategoryIndex.getAllCategories().stream()
+                .filter(category -> category.toLowerCase(Locale.ROOT).contains(lowerKeyword))
+                .flatMap(category -> quizCategoryIndex.getQuizIds(category).stream()
+                        .map(quizId -> QuizCategoryDto.builder()
+                                .category(category)
+                                .quizId(quizId)
+                                .build()))
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
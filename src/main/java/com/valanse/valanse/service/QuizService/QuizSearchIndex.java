@@ -0,0 +1,366 @@
+package com.valanse.valanse.service.QuizService;
+
+import com.valanse.valanse.entity.Quiz;
+import com.valanse.valanse.repository.jpa.QuizRepository;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * 퀴즈 본문, 선택지·설명, 카테고리에 대한 역색인(Lucene). LIKE '%keyword%' 전체 스캔을 대신한다.
+ * 한국어는 형태소 분석 없이 음절 bigram으로 쪼개 부분 문자열 검색과 비슷하게 동작하게 한다.
+ *
+ * 색인은 디스크(valanse.search.index-path)에 남아 재시작 시 다시 만들지 않고,
+ * 내려가 있는 동안의 변경만 DB와 맞춰 따라잡는다. 이후 변경은 QuizChangeEvent로 바로 반영한다.
+ */
+@Slf4j
+@Component
+public class QuizSearchIndex {
+
+    private static final String FIELD_ID = "quizId";
+    private static final String FIELD_UPDATED_AT = "updatedAt";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_OPTIONS = "options";
+    private static final String FIELD_CATEGORIES = "categories";
+
+    // 필드별 가중치: 본문 > 카테고리 > 선택지·설명
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            FIELD_CONTENT, 3f,
+            FIELD_CATEGORIES, 2f,
+            FIELD_OPTIONS, 1f);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_RESULT_WINDOW = 1000; // 점수순 페이지는 offset만큼 더 읽어야 하므로 깊이를 제한한다.
+
+    private final QuizRepository quizRepository;
+    private final QuizCategoryIndex quizCategoryIndex;
+    private final Path indexPath;
+    private final long catchUpMarginMinutes;
+
+    // 색인 시에는 한 글자 검색도 되도록 unigram을 함께 남기고, 검색어는 bigram으로만 쪼개 후보를 줄인다.
+    private final Analyzer indexAnalyzer = new KoreanBigramAnalyzer(true);
+    private final Analyzer queryAnalyzer = new KoreanBigramAnalyzer(false);
+
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    public QuizSearchIndex(QuizRepository quizRepository,
+                           QuizCategoryIndex quizCategoryIndex,
+                           @Value("${valanse.search.index-path:./data/search-index}") String indexPath,
+                           @Value("${valanse.search.catch-up-margin-minutes:10}") long catchUpMarginMinutes) {
+        this.quizRepository = quizRepository;
+        this.quizCategoryIndex = quizCategoryIndex;
+        this.indexPath = Path.of(indexPath);
+        this.catchUpMarginMinutes = catchUpMarginMinutes;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(indexPath);
+        directory = FSDirectory.open(indexPath);
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(indexAnalyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(indexWriter, null);
+
+        if (indexWriter.getDocStats().numDocs == 0) {
+            rebuild();
+        } else {
+            catchUp();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close(); // 닫을 때 커밋된다.
+        directory.close();
+    }
+
+    // 점수 내림차순으로 offset번째부터 최대 count개의 퀴즈 ID를 반환한다.
+    public List<Integer> search(String keyword, int offset, int count) {
+        int window = Math.min(offset + count, MAX_RESULT_WINDOW);
+        Query query = buildQuery(keyword);
+        if (query == null || offset >= window) {
+            return List.of();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query, window).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+
+                List<Integer> quizIds = new ArrayList<>();
+                for (int i = offset; i < hits.length; i++) {
+                    quizIds.add(Integer.valueOf(storedFields.document(hits[i].doc).get(FIELD_ID)));
+                }
+                return quizIds;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 등록/수정된 퀴즈를 DB에서 다시 읽어 색인한다. 그 사이 삭제되었다면 색인에서도 지운다.
+    public void index(Integer quizId, List<String> categories) {
+        try {
+            Optional<Quiz> quiz = quizRepository.findById(quizId);
+            if (quiz.isPresent()) {
+                indexWriter.updateDocument(idTerm(quizId), toDocument(quiz.get(), categories));
+            } else {
+                indexWriter.deleteDocuments(idTerm(quizId));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.error("Failed to index quiz {}", quizId, e);
+        }
+    }
+
+    public void delete(Integer quizId) {
+        try {
+            indexWriter.deleteDocuments(idTerm(quizId));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.error("Failed to delete quiz {} from search index", quizId, e);
+        }
+    }
+
+    // 변경분은 검색에 바로 보이지만(NRT) 디스크 커밋은 모아서 한다.
+    @Scheduled(fixedDelayString = "${valanse.search.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        } catch (IOException e) {
+            log.error("Failed to commit search index", e);
+        }
+    }
+
+    private void rebuild() throws IOException {
+        long startTime = System.currentTimeMillis();
+        indexWriter.deleteAll();
+
+        int indexed = 0;
+        List<Quiz> quizzes = quizRepository.findAllByOrderByQuizIdAsc(PageRequest.of(0, BATCH_SIZE));
+        while (!quizzes.isEmpty()) {
+            for (Quiz quiz : quizzes) {
+                indexWriter.addDocument(toDocument(quiz, quizCategoryIndex.getCategories(quiz.getQuizId())));
+            }
+            indexed += quizzes.size();
+            if (quizzes.size() < BATCH_SIZE) {
+                break;
+            }
+            quizzes = quizRepository.findNextPageByQuizId(quizzes.get(quizzes.size() - 1).getQuizId(), PageRequest.of(0, BATCH_SIZE));
+        }
+
+        indexWriter.commit();
+        searcherManager.maybeRefreshBlocking();
+        log.info("Built search index with {} quizzes in {} ms", indexed, System.currentTimeMillis() - startTime);
+    }
+
+    // 디스크에 남은 색인을 DB와 맞춘다: 사라진 퀴즈는 지우고, 빠진 퀴즈와 마지막 색인 이후 수정된 퀴즈는 다시 색인한다.
+    private void catchUp() throws IOException {
+        RoaringBitmap indexedIds = new RoaringBitmap();
+        long lastUpdatedAt = 0;
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                LeafReader reader = leaf.reader();
+                Bits liveDocs = reader.getLiveDocs();
+                NumericDocValues ids = DocValues.getNumeric(reader, FIELD_ID);
+                NumericDocValues updatedAts = DocValues.getNumeric(reader, FIELD_UPDATED_AT);
+
+                for (int doc = ids.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = ids.nextDoc()) {
+                    if (liveDocs != null && !liveDocs.get(doc)) {
+                        continue;
+                    }
+                    indexedIds.add((int) ids.longValue());
+                    if (updatedAts.advanceExact(doc)) {
+                        lastUpdatedAt = Math.max(lastUpdatedAt, updatedAts.longValue());
+                    }
+                }
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+
+        RoaringBitmap quizIds = new RoaringBitmap();
+        quizRepository.findAllQuizIds().forEach(quizIds::add);
+
+        RoaringBitmap deletedIds = RoaringBitmap.andNot(indexedIds, quizIds);
+        for (int quizId : deletedIds) {
+            indexWriter.deleteDocuments(idTerm(quizId));
+        }
+
+        RoaringBitmap missingIds = RoaringBitmap.andNot(quizIds, indexedIds);
+        List<Integer> batch = new ArrayList<>(BATCH_SIZE);
+        for (int quizId : missingIds) {
+            batch.add(quizId);
+            if (batch.size() == BATCH_SIZE) {
+                updateDocuments(quizRepository.findAllByIdIn(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            updateDocuments(quizRepository.findAllByIdIn(batch));
+        }
+
+        // updated_at 순서와 커밋 순서가 어긋날 수 있어 마지막으로 색인한 수정 시각보다 여유를 두고 다시 색인한다.
+        LocalDateTime since = LocalDateTime.ofEpochSecond(lastUpdatedAt, 0, ZoneOffset.UTC).minusMinutes(catchUpMarginMinutes);
+        int updated = 0;
+        List<Quiz> quizzes = quizRepository.findUpdatedSince(since, 0, PageRequest.of(0, BATCH_SIZE));
+        while (!quizzes.isEmpty()) {
+            updateDocuments(quizzes);
+            updated += quizzes.size();
+            if (quizzes.size() < BATCH_SIZE) {
+                break;
+            }
+            quizzes = quizRepository.findUpdatedSince(since, quizzes.get(quizzes.size() - 1).getQuizId(), PageRequest.of(0, BATCH_SIZE));
+        }
+
+        indexWriter.commit();
+        searcherManager.maybeRefreshBlocking();
+        log.info("Search index caught up: {} deleted, {} missing, {} updated since {}",
+                deletedIds.getCardinality(), missingIds.getCardinality(), updated, since);
+    }
+
+    private void updateDocuments(List<Quiz> quizzes) throws IOException {
+        for (Quiz quiz : quizzes) {
+            indexWriter.updateDocument(idTerm(quiz.getQuizId()), toDocument(quiz, quizCategoryIndex.getCategories(quiz.getQuizId())));
+        }
+    }
+
+    private Document toDocument(Quiz quiz, List<String> categories) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(quiz.getQuizId()), Field.Store.YES));
+        document.add(new NumericDocValuesField(FIELD_ID, quiz.getQuizId()));
+        document.add(new NumericDocValuesField(FIELD_UPDATED_AT, quiz.getUpdatedAt() == null ? 0 : quiz.getUpdatedAt().toEpochSecond(ZoneOffset.UTC)));
+
+        addText(document, FIELD_CONTENT, quiz.getContent());
+        addText(document, FIELD_OPTIONS, quiz.getOptionA());
+        addText(document, FIELD_OPTIONS, quiz.getOptionB());
+        addText(document, FIELD_OPTIONS, quiz.getDescriptionA());
+        addText(document, FIELD_OPTIONS, quiz.getDescriptionB());
+        categories.forEach(category -> addText(document, FIELD_CATEGORIES, category));
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    // 검색어의 모든 토큰이 한 필드에 있어야 하고, 필드 중 가장 높은 점수를 퀴즈의 점수로 쓴다.
+    private Query buildQuery(String keyword) {
+        List<String> terms = analyze(keyword);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        List<Query> fieldQueries = new ArrayList<>();
+        FIELD_BOOSTS.forEach((field, boost) -> {
+            BooleanQuery.Builder builder = new BooleanQuery.Builder();
+            terms.forEach(term -> builder.add(new TermQuery(new Term(field, term)), BooleanClause.Occur.MUST));
+            fieldQueries.add(new BoostQuery(builder.build(), boost));
+        });
+        return new DisjunctionMaxQuery(fieldQueries, 0.1f);
+    }
+
+    private List<String> analyze(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return List.of();
+        }
+
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream tokenStream = queryAnalyzer.tokenStream(FIELD_CONTENT, keyword)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokenStream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return List.copyOf(terms);
+    }
+
+    private static Term idTerm(int quizId) {
+        return new Term(FIELD_ID, String.valueOf(quizId));
+    }
+
+    // 공백·문장부호로 나눈 뒤 전각/반각을 맞추고 소문자로 바꾸고, 한글·한자·가나는 음절 bigram으로 쪼갠다.
+    private static final class KoreanBigramAnalyzer extends Analyzer {
+
+        private final boolean outputUnigrams;
+
+        private KoreanBigramAnalyzer(boolean outputUnigrams) {
+            this.outputUnigrams = outputUnigrams;
+        }
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new CJKWidthFilter(source);
+            result = new LowerCaseFilter(result);
+            result = new CJKBigramFilter(result,
+                    CJKBigramFilter.HANGUL | CJKBigramFilter.HAN | CJKBigramFilter.HIRAGANA | CJKBigramFilter.KATAKANA,
+                    outputUnigrams);
+            return new TokenStreamComponents(source, result);
+        }
+    }
+}
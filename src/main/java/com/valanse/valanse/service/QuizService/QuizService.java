@@ -11,11 +11,9 @@ import java.util.List;
 
 public interface QuizService {
 
-    Quiz getRandomQuiz();
-
     QuizDto getQuiz(int quizId);
 
-    List<QuizDto> getAllQuiz();
+    QuizPageDto getAllQuiz(String cursor, Integer size); // 퀴즈 식별자 순 커서 페이지 조회
     List<QuizDto> getRecommendQuizzes(HttpServletRequest httpServletRequest);
 
     void registerQuiz(HttpServletRequest httpServletRequest, QuizRegisterDto quizRegisterDto, MultipartFile image_A, MultipartFile image_B);
@@ -28,15 +26,19 @@ public interface QuizService {
 
     List<QuizDto> getMyQuizzes(HttpServletRequest httpServletRequest);
 
-    List<QuizDto> sortQuizByCreatedAt(); // 생성 시간에 따른 퀴즈 정렬
+    QuizPageDto sortQuizByCreatedAt(String cursor, Integer size); // 생성 시간에 따른 퀴즈 정렬
+
+    QuizPageDto sortQuizByPreference(String cursor, Integer size); // 선호도에 따른 퀴즈 정렬
 
-    List<QuizDto> sortQuizByPreference(); // 선호도에 따른 퀴즈 정렬
+    QuizPageDto searchQuiz(String keyword, String cursor, Integer size); // 퀴즈 검색
 
-    List<QuizDto> searchQuiz(String keyword); // 퀴즈 검색
+    SuggestDto suggest(String prefix, Integer size); // 검색어 자동완성
 
     void saveUserAnswer(HttpServletRequest httpServletRequest, UserAnswerDto userAnswerDto) throws InvalidOptionException; // 클라이언트의 답변을 데이터베이스에 저장
 
     void saveDummyUserAnswer(Integer userId, UserAnswerDto userAnswerDto) throws InvalidOptionException;
 
     Boolean checkUserAnswer(HttpServletRequest httpServletRequest, Integer quizId);
+
+    List<Integer> checkUserAnswers(HttpServletRequest httpServletRequest, List<Integer> quizIds);
 }
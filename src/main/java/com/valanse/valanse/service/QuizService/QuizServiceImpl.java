@@ -1,30 +1,48 @@
 package com.valanse.valanse.service.QuizService;
 
 import com.valanse.valanse.dto.QuizDto;
+import com.valanse.valanse.dto.QuizPageDto;
 import com.valanse.valanse.dto.QuizRegisterDto;
 import com.valanse.valanse.dto.QuizStatsDto;
+import com.valanse.valanse.dto.SuggestDto;
 import com.valanse.valanse.dto.UserAnswerDto;
 import com.valanse.valanse.entity.*;
+import com.valanse.valanse.event.QuizChangeEvent;
 import com.valanse.valanse.event.UserAnswerEvent;
+import com.valanse.valanse.exception.InvalidCursorException;
 import com.valanse.valanse.exception.InvalidOptionException;
 import com.valanse.valanse.repository.jpa.*;
 import com.valanse.valanse.security.util.JwtUtil;
 import com.valanse.valanse.service.ImageService.S3ImageService;
+import com.valanse.valanse.redis.service.QuizDtoCache;
+import com.valanse.valanse.redis.service.RecommendQuizCache;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
+import com.valanse.valanse.service.UserAnswerService.AnsweredQuizIndex;
+import com.valanse.valanse.service.ViewCountService.ViewCountService;
+import com.valanse.valanse.util.CursorUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,69 +50,54 @@ import java.util.stream.Collectors;
 @Slf4j
 public class QuizServiceImpl implements QuizService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100; // 한 번에 내려줄 수 있는 최대 퀴즈 수
+
     private final QuizRepository quizRepository;
     private final QuizCategoryRepository quizCategoryRepository;
     private final UserAnswerRepository userAnswerRepository;
-    private final CategoryStatisticsRepository categoryStatisticsRepository;
     private final S3ImageService s3ImageService;
     private final JwtUtil jwtUtil;
     private final RecommendQuizRepository recommendQuizRepository;
     private final UserCategoryPreferenceRepository userCategoryPreferenceRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final ViewCountService viewCountService;
+    private final QuizCategoryIndex quizCategoryIndex;
+    private final RecommendQuizCache recommendQuizCache;
+    private final QuizDtoCache quizDtoCache;
+    private final AnsweredQuizIndex answeredQuizIndex;
+    private final QuizSearchIndex quizSearchIndex;
+    private final QuizSuggestIndex quizSuggestIndex;
+    private final TransactionTemplate transactionTemplate;
 
 
-    // 올바르지 못한 리턴 예시
-    @Override
-    public Quiz getRandomQuiz() {
-
-        long count = quizRepository.count(); // 총 개수 구하기
-        int randomIdx = new Random().nextInt((int) count + 1); // 랜덤 인덱스 생성
-        return quizRepository.findById(randomIdx).orElseThrow(EntityNotFoundException::new);
-    }
-
     @Override
-    @Transactional
     public QuizDto getQuiz(int quizId) {
-        Quiz quiz = quizRepository.findById(quizId).orElseThrow(EntityNotFoundException::new);
+        QuizDto quiz = quizDtoCache.getQuiz(quizId).orElseThrow(EntityNotFoundException::new);
 
-        quizRepository.increaseViewCount(quiz.getQuizId());
+        // 조회수는 메모리에 모았다가 주기적으로 반영하고, 응답에는 반영 대기 중인 조회수까지 더해서 내려준다.
+        viewCountService.increaseQuizView(quiz.getQuizId());
 
-        return QuizDto.builder()
-                .quizId(quiz.getQuizId())
-                .authorUserId(quiz.getAuthorUserId())
-                .content(quiz.getContent())
-                .optionA(quiz.getOptionA())
-                .optionB(quiz.getOptionB())
-                .descriptionA(quiz.getDescriptionA())
-                .descriptionB(quiz.getDescriptionB())
-                .imageA(quiz.getImageA())
-                .imageB(quiz.getImageB())
-                .viewCount(quiz.getViewCount())
-                .preference(quiz.getPreference())
-                .createdAt(quiz.getCreatedAt())
-                .updatedAt(quiz.getUpdatedAt())
+        // 캐시된 객체는 공유되므로 복사본에 더한다.
+        return quiz.toBuilder()
+                .viewCount(quiz.getViewCount() + (int) viewCountService.getPendingQuizViews(quiz.getQuizId()))
                 .build();
     }
 
     @Override
-    public List<QuizDto> getAllQuiz() {
-        return quizRepository.findAll().stream()
-                .map(quiz -> QuizDto.builder()
-                        .quizId(quiz.getQuizId())
-                        .authorUserId(quiz.getAuthorUserId())
-                        .content(quiz.getContent())
-                        .optionA(quiz.getOptionA())
-                        .optionB(quiz.getOptionB())
-                        .descriptionA(quiz.getDescriptionA())
-                        .descriptionB(quiz.getDescriptionB())
-                        .imageA(quiz.getImageA())
-                        .imageB(quiz.getImageB())
-                        .viewCount(quiz.getViewCount())
-                        .preference(quiz.getPreference())
-                        .createdAt(quiz.getCreatedAt())
-                        .updatedAt(quiz.getUpdatedAt())
-                        .build())
-                .collect(Collectors.toList());
+    public QuizPageDto getAllQuiz(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1); // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+
+        List<Quiz> quizzes;
+        if (!StringUtils.hasText(cursor)) {
+            quizzes = quizRepository.findAllByOrderByQuizIdAsc(limit);
+        } else {
+            String[] values = CursorUtil.decode(cursor, 1);
+            quizzes = quizRepository.findNextPageByQuizId(parseCursorValue(cursor, () -> Integer.valueOf(values[0])), limit);
+        }
+
+        return toQuizPage(quizzes, pageSize, quiz -> CursorUtil.encode(quiz.getQuizId()));
     }
 
     @Override
@@ -102,36 +105,18 @@ public class QuizServiceImpl implements QuizService {
         try {
             int userIdx = jwtUtil.getUserIdxFromRequest(httpServletRequest);
 
-            List<RecommendQuiz> recommendQuizList = recommendQuizRepository.findByUserId(userIdx);
-            if (recommendQuizList == null || recommendQuizList.isEmpty()) {
+            // Redis의 추천 집합에는 답변한 퀴즈가 이미 빠져 있다. 없으면 DB에서 한 번 만들어 채운다.
+            List<Integer> recommendQuizIds = recommendQuizCache.get(userIdx)
+                    .orElseGet(() -> loadRecommendQuizIds(userIdx));
+            if (recommendQuizIds.isEmpty()) {
                 log.warn("No recommended quizzes found for user ID: {}", userIdx);
                 throw new EntityNotFoundException("No recommended quizzes found for user ID: " + userIdx);
             }
 
-            List<Integer> recommendQuizIds = recommendQuizList.stream()
-                    .map(RecommendQuiz::getQuizId)
-                    .collect(Collectors.toList());
-
-            List<Quiz> recommendQuizzes = quizRepository.findAllByIdInAndNotAnswered(recommendQuizIds, userIdx);
+            List<QuizDto> recommendQuizzes = quizDtoCache.getQuizzes(recommendQuizIds);
             log.info("recommended quizzes found, size is: {}", recommendQuizzes.size());
 
-            return recommendQuizzes.stream()
-                    .map(quiz -> QuizDto.builder()
-                            .quizId(quiz.getQuizId())
-                            .authorUserId(quiz.getAuthorUserId())
-                            .content(quiz.getContent())
-                            .optionA(quiz.getOptionA())
-                            .optionB(quiz.getOptionB())
-                            .descriptionA(quiz.getDescriptionA())
-                            .descriptionB(quiz.getDescriptionB())
-                            .imageA(quiz.getImageA())
-                            .imageB(quiz.getImageB())
-                            .viewCount(quiz.getViewCount())
-                            .preference(quiz.getPreference())
-                            .createdAt(quiz.getCreatedAt())
-                            .updatedAt(quiz.getUpdatedAt())
-                            .build())
-                    .collect(Collectors.toList());
+            return recommendQuizzes;
 
         } catch (Exception e) {
             log.error("Error occurred while getting recommended quizzes: ", e);
@@ -139,8 +124,8 @@ public class QuizServiceImpl implements QuizService {
         }
     }
 
+    // 이미지는 DB 트랜잭션 밖에서 동시에 올리고, 두 URL이 정해진 뒤에 퀴즈를 한 트랜잭션으로 저장한다.
     @Override
-    @Transactional
     public void registerQuiz(HttpServletRequest httpServletRequest,
                              QuizRegisterDto quizRegisterDto,
                              MultipartFile image_A,
@@ -148,59 +133,64 @@ public class QuizServiceImpl implements QuizService {
         try {
             int userIdx = jwtUtil.getUserIdxFromRequest(httpServletRequest);
 
-            String path_A = null;
-            String path_B = null;
-
-            if (image_A != null && !image_A.isEmpty()) {
-                path_A = s3ImageService.uploadImage(image_A);
+            List<String> imagePaths = s3ImageService.uploadImages(Arrays.asList(image_A, image_B));
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        saveRegisteredQuiz(userIdx, quizRegisterDto, imagePaths.get(0), imagePaths.get(1)));
+            } catch (RuntimeException e) {
+                // 퀴즈가 저장되지 않았으므로 올린 이미지를 지운다.
+                s3ImageService.releaseImages(imagePaths);
+                throw e;
             }
 
-            if (image_B != null && !image_B.isEmpty()) {
-                path_B = s3ImageService.uploadImage(image_B);
-            }
-
-            Quiz quiz = Quiz.builder()
-                    .authorUserId(userIdx)
-                    .content(quizRegisterDto.getContent())
-                    .optionA(quizRegisterDto.getOptionA())
-                    .optionB(quizRegisterDto.getOptionB())
-                    .descriptionA(quizRegisterDto.getDescriptionA())
-                    .descriptionB(quizRegisterDto.getDescriptionB())
-                    .imageA(path_A)
-                    .imageB(path_B)
-                    .viewCount(0)
-                    .preference(0)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            quizRepository.save(quiz); // 퀴즈 먼저 저장하여 ID를 생성
+        } catch (Exception e) {
+            log.error("An unexpected error occurred during quiz registration", e);
+            throw e;
+        }
+    }
 
-            List<String> categories = quizRegisterDto.getCategory() != null ? quizRegisterDto.getCategory() : new ArrayList<>();
+    private void saveRegisteredQuiz(int userIdx, QuizRegisterDto quizRegisterDto, String path_A, String path_B) {
+        Quiz quiz = Quiz.builder()
+                .authorUserId(userIdx)
+                .content(quizRegisterDto.getContent())
+                .optionA(quizRegisterDto.getOptionA())
+                .optionB(quizRegisterDto.getOptionB())
+                .descriptionA(quizRegisterDto.getDescriptionA())
+                .descriptionB(quizRegisterDto.getDescriptionB())
+                .imageA(path_A)
+                .imageB(path_B)
+                .viewCount(0)
+                .preference(0)
+                .createdAt(LocalDateTime.now())
+                .build();
 
-            for (String category : categories) {
-                if (category == null || category.trim().isEmpty()) {
-                    continue; // 무효한 카테고리는 건너뛴다
-                }
+        quizRepository.save(quiz); // 퀴즈 먼저 저장하여 ID를 생성
 
-                QuizCategory quizCategory = QuizCategory.builder()
-                        .category(category)
-                        .quizId(quiz.getQuizId()) // 생성된 퀴즈 ID를 사용
-                        .build();
+        List<String> categories = quizRegisterDto.getCategory() != null ? quizRegisterDto.getCategory() : new ArrayList<>();
+        List<String> savedCategories = new ArrayList<>();
 
-                quizCategoryRepository.save(quizCategory); // 퀴즈 카테고리 저장
+        for (String category : categories) {
+            if (category == null || category.trim().isEmpty()) {
+                continue; // 무효한 카테고리는 건너뛴다
             }
 
-            userCategoryPreferenceRepository.incrementRegistrationCounts(userIdx, categories);
+            QuizCategory quizCategory = QuizCategory.builder()
+                    .category(category)
+                    .quizId(quiz.getQuizId()) // 생성된 퀴즈 ID를 사용
+                    .build();
 
-        } catch (Exception e) {
-            log.error("An unexpected error occurred during quiz registration", e);
-            throw e;
+            quizCategoryRepository.save(quizCategory); // 퀴즈 카테고리 저장
+            savedCategories.add(category);
         }
+
+        userCategoryPreferenceRepository.incrementRegistrationCounts(userIdx, categories);
+
+        applicationEventPublisher.publishEvent(new QuizChangeEvent(QuizChangeEvent.Type.REGISTERED, quiz.getQuizId(), savedCategories));
     }
 
 
+    // 권한을 먼저 확인한 뒤 이미지를 DB 트랜잭션 밖에서 동시에 올리고, 두 URL이 정해진 뒤에 한 트랜잭션으로 저장한다.
     @Override
-    @Transactional
     public void updateQuiz(HttpServletRequest httpServletRequest,
                            Integer quizId,
                            QuizRegisterDto quizRegisterDto,
@@ -209,75 +199,96 @@ public class QuizServiceImpl implements QuizService {
         try {
             int userIdx = jwtUtil.getUserIdxFromRequest(httpServletRequest);
 
-            String imagePathA = null;
-            String imagePathB = null;
+            Quiz existingQuiz = quizRepository.findById(quizId).orElseThrow(EntityNotFoundException::new);
 
-            if (image_A != null && !image_A.isEmpty()) {
-                imagePathA = s3ImageService.uploadImage(image_A);
+            if (!existingQuiz.getAuthorUserId().equals(Integer.valueOf(userIdx))) {
+                throw new AccessDeniedException("You don't have permission to update.");
             }
 
-            if (image_B != null && !image_B.isEmpty()) {
-                imagePathB = s3ImageService.uploadImage(image_B);
+            List<String> imagePaths = s3ImageService.uploadImages(Arrays.asList(image_A, image_B));
+            List<String> replacedImages;
+            try {
+                replacedImages = transactionTemplate.execute(status ->
+                        saveUpdatedQuiz(quizId, quizRegisterDto, imagePaths.get(0), imagePaths.get(1)));
+            } catch (RuntimeException e) {
+                // 퀴즈가 저장되지 않았으므로 올린 이미지를 지운다.
+                s3ImageService.releaseImages(imagePaths);
+                throw e;
             }
 
-            Quiz existingQuiz = quizRepository.findById(quizId).orElseThrow(EntityNotFoundException::new);
+            // 커밋된 뒤에 기존 이미지의 참조를 놓는다. 같은 이미지를 다시 올렸다면 새 업로드가 참조를 하나 더 잡아 두었다.
+            s3ImageService.releaseImages(replacedImages);
 
-            if (!existingQuiz.getAuthorUserId().equals(Integer.valueOf(userIdx))) {
-                throw new AccessDeniedException("You don't have permission to update.");
-            }
+        } catch (AccessDeniedException e) {
+            log.error("Forbidden to update quiz with id {}", quizId, e);
+            throw e;
+        }
+    }
 
-            existingQuiz = Quiz.builder()
-                    .quizId(existingQuiz.getQuizId())
-                    .authorUserId(existingQuiz.getAuthorUserId())
-                    .content(quizRegisterDto.getContent() != null ? quizRegisterDto.getContent() : existingQuiz.getContent()) // db에서 NOT NULL이라 입력 값이 널이면 기존 db에 저장된 값
-                    .optionA(quizRegisterDto.getOptionA() != null ? quizRegisterDto.getOptionA() : existingQuiz.getOptionA())
-                    .optionB(quizRegisterDto.getOptionB() != null ? quizRegisterDto.getOptionB() : existingQuiz.getOptionB())
-                    .descriptionA(quizRegisterDto.getDescriptionA()) // 널이어도 되므로 입력 값 그대로
-                    .descriptionB(quizRegisterDto.getDescriptionB())
-                    .imageA(imagePathA) // imagePath는 이미지가 널이 아니면 이미지의 경로, 널이면 널
-                    .imageB(imagePathB)
-                    .viewCount(existingQuiz.getViewCount())
-                    .preference(existingQuiz.getPreference())
-                    .createdAt(existingQuiz.getCreatedAt())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
+    // 저장하고 이 퀴즈가 더 이상 가리키지 않는 기존 이미지 URL을 돌려준다.
+    private List<String> saveUpdatedQuiz(Integer quizId, QuizRegisterDto quizRegisterDto, String imagePathA, String imagePathB) {
+        // 업로드하는 동안 바뀌었을 수 있는 조회수·선호도를 덮어쓰지 않도록 트랜잭션 안에서 다시 읽는다.
+        Quiz existingQuiz = quizRepository.findById(quizId).orElseThrow(EntityNotFoundException::new);
 
-            quizRepository.save(existingQuiz);
+        Quiz updatedQuiz = Quiz.builder()
+                .quizId(existingQuiz.getQuizId())
+                .authorUserId(existingQuiz.getAuthorUserId())
+                .content(quizRegisterDto.getContent() != null ? quizRegisterDto.getContent() : existingQuiz.getContent()) // db에서 NOT NULL이라 입력 값이 널이면 기존 db에 저장된 값
+                .optionA(quizRegisterDto.getOptionA() != null ? quizRegisterDto.getOptionA() : existingQuiz.getOptionA())
+                .optionB(quizRegisterDto.getOptionB() != null ? quizRegisterDto.getOptionB() : existingQuiz.getOptionB())
+                .descriptionA(quizRegisterDto.getDescriptionA()) // 널이어도 되므로 입력 값 그대로
+                .descriptionB(quizRegisterDto.getDescriptionB())
+                .imageA(imagePathA) // imagePath는 이미지가 널이 아니면 이미지의 경로, 널이면 널
+                .imageB(imagePathB)
+                .viewCount(existingQuiz.getViewCount())
+                .preference(existingQuiz.getPreference())
+                .createdAt(existingQuiz.getCreatedAt())
+                .updatedAt(LocalDateTime.now())
+                .build();
 
-            // 입력 카테고리 값이 널이 아니면 입력 값, 널이면 빈 리스트
-            List<String> updatedCategory = quizRegisterDto.getCategory() != null ? quizRegisterDto.getCategory() : new ArrayList<>();
+        quizRepository.save(updatedQuiz);
 
-            quizCategoryRepository.deleteByQuizId(quizId); // quizId에 해당하는 quizId 컬럼과 기존에 매핑된 QuizCategory Entity 삭제
+        // 입력 카테고리 값이 널이 아니면 입력 값, 널이면 빈 리스트
+        List<String> updatedCategory = quizRegisterDto.getCategory() != null ? quizRegisterDto.getCategory() : new ArrayList<>();
 
-            // 입력 받은 카테고리 값과 quizId 매핑
-            for (String category : updatedCategory) {
-                QuizCategory quizCategory = QuizCategory.builder()
-                        .category(category)
-                        .quizId(quizId)
-                        .build();
+        quizCategoryRepository.deleteByQuizId(quizId); // quizId에 해당하는 quizId 컬럼과 기존에 매핑된 QuizCategory Entity 삭제
 
-                quizCategoryRepository.save(quizCategory);
-            }
+        // 입력 받은 카테고리 값과 quizId 매핑
+        for (String category : updatedCategory) {
+            QuizCategory quizCategory = QuizCategory.builder()
+                    .category(category)
+                    .quizId(quizId)
+                    .build();
 
-        } catch (AccessDeniedException e) {
-            log.error("Forbidden to update quiz with id {}", quizId, e);
-            throw e;
+            quizCategoryRepository.save(quizCategory);
         }
+
+        applicationEventPublisher.publishEvent(new QuizChangeEvent(QuizChangeEvent.Type.UPDATED, quizId, updatedCategory));
+
+        return Arrays.asList(existingQuiz.getImageA(), existingQuiz.getImageB());
     }
 
+    // 퀴즈를 지운 트랜잭션이 커밋된 뒤에 이미지 참조를 놓는다.
     @Override
-    @Transactional
     public void deleteQuiz(HttpServletRequest httpServletRequest, Integer quizId) {
         try {
             int userIdx = jwtUtil.getUserIdxFromRequest(httpServletRequest);
 
-            Quiz quiz = quizRepository.findById(quizId).orElseThrow(EntityNotFoundException::new);
+            List<String> images = transactionTemplate.execute(status -> {
+                Quiz quiz = quizRepository.findById(quizId).orElseThrow(EntityNotFoundException::new);
 
-            if (!quiz.getAuthorUserId().equals(Integer.valueOf(userIdx))) {
-                throw new AccessDeniedException("You don't have permission to delete.");
-            }
+                if (!quiz.getAuthorUserId().equals(Integer.valueOf(userIdx))) {
+                    throw new AccessDeniedException("You don't have permission to delete.");
+                }
 
-            quizRepository.delete(quiz);
+                quizRepository.delete(quiz);
+
+                applicationEventPublisher.publishEvent(new QuizChangeEvent(QuizChangeEvent.Type.DELETED, quizId, List.of()));
+
+                return Arrays.asList(quiz.getImageA(), quiz.getImageB());
+            });
+
+            s3ImageService.releaseImages(images);
 
         } catch (AccessDeniedException e) {
             log.error("Forbidden to delete quiz with id {}", quizId, e);
@@ -291,7 +302,7 @@ public class QuizServiceImpl implements QuizService {
             Quiz quiz = quizRepository.findById(quizId).orElseThrow(EntityNotFoundException::new);
 
             return QuizStatsDto.builder()
-                    .viewsCount(quiz.getViewCount())
+                    .viewsCount(quiz.getViewCount() + (int) viewCountService.getPendingQuizViews(quizId))
                     .preference(quiz.getPreference())
                     .build();
         } catch (EntityNotFoundException e) {
@@ -324,142 +335,113 @@ public class QuizServiceImpl implements QuizService {
     }
 
     @Override
-    public List<QuizDto> sortQuizByCreatedAt() {
-        return quizRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(quiz -> QuizDto.builder()
-                        .quizId(quiz.getQuizId())
-                        .authorUserId(quiz.getAuthorUserId())
-                        .content(quiz.getContent())
-                        .optionA(quiz.getOptionA())
-                        .optionB(quiz.getOptionB())
-                        .descriptionA(quiz.getDescriptionA())
-                        .descriptionB(quiz.getDescriptionB())
-                        .imageA(quiz.getImageA())
-                        .imageB(quiz.getImageB())
-                        .viewCount(quiz.getViewCount())
-                        .preference(quiz.getPreference())
-                        .createdAt(quiz.getCreatedAt())
-                        .updatedAt(quiz.getUpdatedAt())
-                        .build())
-                .collect(Collectors.toList());
-    }
+    public QuizPageDto sortQuizByCreatedAt(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Quiz> quizzes;
+        if (!StringUtils.hasText(cursor)) {
+            quizzes = quizRepository.findAllByOrderByCreatedAtDescQuizIdDesc(limit);
+        } else {
+            String[] values = CursorUtil.decode(cursor, 2);
+            quizzes = quizRepository.findNextPageByCreatedAt(
+                    parseCursorValue(cursor, () -> LocalDateTime.parse(values[0])),
+                    parseCursorValue(cursor, () -> Integer.valueOf(values[1])),
+                    limit);
+        }
 
-    @Override
-    public List<QuizDto> sortQuizByPreference() {
-        return quizRepository.findAllByOrderByPreferenceDesc().stream()
-                .map(quiz -> QuizDto.builder()
-                        .quizId(quiz.getQuizId())
-                        .authorUserId(quiz.getAuthorUserId())
-                        .content(quiz.getContent())
-                        .optionA(quiz.getOptionA())
-                        .optionB(quiz.getOptionB())
-                        .descriptionA(quiz.getDescriptionA())
-                        .descriptionB(quiz.getDescriptionB())
-                        .imageA(quiz.getImageA())
-                        .imageB(quiz.getImageB())
-                        .viewCount(quiz.getViewCount())
-                        .preference(quiz.getPreference())
-                        .createdAt(quiz.getCreatedAt())
-                        .updatedAt(quiz.getUpdatedAt())
-                        .build())
-                .collect(Collectors.toList());
+        return toQuizPage(quizzes, pageSize, quiz -> CursorUtil.encode(quiz.getCreatedAt(), quiz.getQuizId()));
     }
 
     @Override
-    public List<QuizDto> searchQuiz(String keyword) {
-        return quizRepository.findByContentContaining(keyword).stream()
-                .map(quiz -> QuizDto.builder()
-                        .quizId(quiz.getQuizId())
-                        .authorUserId(quiz.getAuthorUserId())
-                        .content(quiz.getContent())
-                        .optionA(quiz.getOptionA())
-                        .optionB(quiz.getOptionB())
-                        .descriptionA(quiz.getDescriptionA())
-                        .descriptionB(quiz.getDescriptionB())
-                        .imageA(quiz.getImageA())
-                        .imageB(quiz.getImageB())
-                        .viewCount(quiz.getViewCount())
-                        .preference(quiz.getPreference())
-                        .createdAt(quiz.getCreatedAt())
-                        .updatedAt(quiz.getUpdatedAt())
-                        .build())
-                .collect(Collectors.toList());
+    public QuizPageDto sortQuizByPreference(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Quiz> quizzes;
+        if (!StringUtils.hasText(cursor)) {
+            quizzes = quizRepository.findAllByOrderByPreferenceDescQuizIdDesc(limit);
+        } else {
+            String[] values = CursorUtil.decode(cursor, 2);
+            quizzes = quizRepository.findNextPageByPreference(
+                    parseCursorValue(cursor, () -> Integer.valueOf(values[0])),
+                    parseCursorValue(cursor, () -> Integer.valueOf(values[1])),
+                    limit);
+        }
+
+        return toQuizPage(quizzes, pageSize, quiz -> CursorUtil.encode(quiz.getPreference(), quiz.getQuizId()));
     }
 
     @Override
-    @Transactional
-    public void saveUserAnswer(HttpServletRequest httpServletRequest, UserAnswerDto userAnswerDto) {
-
-        UserAnswer userAnswer = null;
-
-        int userIdx = jwtUtil.getUserIdxFromRequest(httpServletRequest);
-
-        try {
-            userAnswer = UserAnswer.builder()
-                    .userId(userIdx)
-                    .quizId(userAnswerDto.getQuizId())
-                    .selectedOption(OptionAB.valueOf(userAnswerDto.getSelectedOption().toUpperCase())) // 입력 값이 대소문자에 관계없이 처리되도록 변환
-                    .answeredAt(LocalDateTime.now())
-                    .preference(userAnswerDto.getPreference())
-                    .build();
-        } catch (IllegalArgumentException e) {
-            // 유효하지 않은 옵션 값에 대한 상세한 예외 메시지
-            throw new InvalidOptionException("Invalid option value: " + userAnswerDto.getSelectedOption() +
-                    ". Please select either 'A' or 'B'.", e);
+    public QuizPageDto searchQuiz(String keyword, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+
+        // 점수순 결과는 키셋으로 이어 읽을 수 없어 커서에 다음 페이지의 오프셋을 담는다.
+        int offset = 0;
+        if (StringUtils.hasText(cursor)) {
+            String[] values = CursorUtil.decode(cursor, 1);
+            offset = parseCursorValue(cursor, () -> Integer.valueOf(values[0]));
+            if (offset < 0) {
+                throw new InvalidCursorException("Malformed cursor: " + cursor);
+            }
         }
 
-        userAnswerRepository.save(userAnswer);
-
-        Quiz existingQuiz = quizRepository.findById(userAnswerDto.getQuizId()).orElseThrow(EntityNotFoundException::new);
+        List<Integer> quizIds = quizSearchIndex.search(keyword, offset, pageSize + 1);
+        boolean hasNext = quizIds.size() > pageSize;
+        List<Integer> page = hasNext ? quizIds.subList(0, pageSize) : quizIds;
 
-        existingQuiz = Quiz.builder()
-                .quizId(existingQuiz.getQuizId())
-                .authorUserId(existingQuiz.getAuthorUserId())
-                .content(existingQuiz.getContent())
-                .optionA(existingQuiz.getOptionA())
-                .optionB(existingQuiz.getOptionB())
-                .descriptionA(existingQuiz.getDescriptionA())
-                .descriptionB(existingQuiz.getDescriptionB())
-                .imageA(existingQuiz.getImageA())
-                .imageB(existingQuiz.getImageB())
-                .viewCount(existingQuiz.getViewCount())
-                .preference(existingQuiz.getPreference() + userAnswerDto.getPreference())
-                .createdAt(existingQuiz.getCreatedAt())
-                .updatedAt(LocalDateTime.now())
+        return QuizPageDto.builder()
+                .quizzes(quizDtoCache.getQuizzes(page))
+                .nextCursor(hasNext ? CursorUtil.encode(offset + pageSize) : null)
+                .hasNext(hasNext)
                 .build();
+    }
 
-        quizRepository.save(existingQuiz);
-
-        List<QuizCategory> quizCategories = quizCategoryRepository.findByQuizId(userAnswerDto.getQuizId());
+    @Override
+    public SuggestDto suggest(String prefix, Integer size) {
+        int limit = size == null || size <= 0 ? quizSuggestIndex.getTopK() : Math.min(size, quizSuggestIndex.getTopK());
+        return quizSuggestIndex.suggest(prefix, limit);
+    }
 
-        for (QuizCategory quizCategory : quizCategories) {
-            CategoryStatistics categoryStatistics = categoryStatisticsRepository.findById(quizCategory.getCategory())
-                    .orElse(CategoryStatistics.builder()
-                            .category(quizCategory.getCategory())
-                            .totalAnswers(0)
-                            .totalScore(0)
-                            .build());
+    @Override
+    @Transactional
+    public void saveUserAnswer(HttpServletRequest httpServletRequest, UserAnswerDto userAnswerDto) {
+        int userIdx = jwtUtil.getUserIdxFromRequest(httpServletRequest);
 
-            int totalAnswers = categoryStatistics.getTotalAnswers() + 1;
-            int totalScore = categoryStatistics.getTotalScore() + userAnswerDto.getPreference();
+        saveAnswer(userIdx, userAnswerDto);
+    }
 
-            categoryStatistics = CategoryStatistics.builder()
-                    .category(categoryStatistics.getCategory())
-                    .totalAnswers(totalAnswers)
-                    .totalScore(totalScore)
-                    .build();
+    @Override
+    @Transactional
+    public void saveDummyUserAnswer(Integer userId, UserAnswerDto userAnswerDto) throws InvalidOptionException {
+        saveAnswer(userId, userAnswerDto);
+    }
 
-            categoryStatisticsRepository.save(categoryStatistics);
+    @Override
+    public Boolean checkUserAnswer(HttpServletRequest httpServletRequest, Integer quizId) {
+        // HTTP 요청에서 사용자 ID를 추출합니다.
+        int userId = jwtUtil.getUserIdxFromRequest(httpServletRequest);
 
-        }
+        // 답변한 퀴즈 비트맵에 있으면 true, 없으면 false를 반환합니다.
+        return answeredQuizIndex.contains(userId, quizId);
+    }
 
-        applicationEventPublisher.publishEvent(new UserAnswerEvent(userAnswer));
+    @Override
+    public List<Integer> checkUserAnswers(HttpServletRequest httpServletRequest, List<Integer> quizIds) {
+        int userId = jwtUtil.getUserIdxFromRequest(httpServletRequest);
 
+        RoaringBitmap answered = answeredQuizIndex.get(userId);
+        return quizIds.stream()
+                .distinct()
+                .filter(answered::contains)
+                .toList();
     }
 
-    @Override
-    @Transactional
-    public void saveDummyUserAnswer(Integer userId, UserAnswerDto userAnswerDto) throws InvalidOptionException {
+    /**
+     * 답변 한 건을 저장한다. 퀴즈 선호도 증가분 UPDATE와 답변 INSERT 두 번의 왕복으로 끝난다.
+     * 카테고리 통계는 커밋 후 UserAnswerEvent로 메모리 누적기에 더하고 주기적으로 한 번에 반영한다.
+     */
+    private void saveAnswer(int userId, UserAnswerDto userAnswerDto) {
 
         UserAnswer userAnswer = null;
 
@@ -477,60 +459,79 @@ public class QuizServiceImpl implements QuizService {
                     ". Please select either 'A' or 'B'.", e);
         }
 
-        userAnswerRepository.save(userAnswer);
-
-        Quiz existingQuiz = quizRepository.findById(userAnswerDto.getQuizId()).orElseThrow(EntityNotFoundException::new);
-
-        existingQuiz = Quiz.builder()
-                .quizId(existingQuiz.getQuizId())
-                .authorUserId(existingQuiz.getAuthorUserId())
-                .content(existingQuiz.getContent())
-                .optionA(existingQuiz.getOptionA())
-                .optionB(existingQuiz.getOptionB())
-                .descriptionA(existingQuiz.getDescriptionA())
-                .descriptionB(existingQuiz.getDescriptionB())
-                .imageA(existingQuiz.getImageA())
-                .imageB(existingQuiz.getImageB())
-                .viewCount(existingQuiz.getViewCount())
-                .preference(existingQuiz.getPreference() + userAnswerDto.getPreference())
-                .createdAt(existingQuiz.getCreatedAt())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        quizRepository.save(existingQuiz);
+        // 퀴즈 전체를 다시 저장하지 않고 선호도 증가분만 UPDATE 한다. 갱신된 행이 없으면 없는 퀴즈다.
+        if (quizRepository.updateQuizPreference(userAnswer.getQuizId(), userAnswer.getPreference()) == 0) {
+            throw new EntityNotFoundException("Quiz not found with id: " + userAnswer.getQuizId());
+        }
 
-        List<QuizCategory> quizCategories = quizCategoryRepository.findByQuizId(userAnswerDto.getQuizId());
+        userAnswerRepository.insertAnswer(
+                userAnswer.getUserId(),
+                userAnswer.getQuizId(),
+                userAnswer.getSelectedOption().name(),
+                userAnswer.getAnsweredAt(),
+                userAnswer.getPreference());
 
-        for (QuizCategory quizCategory : quizCategories) {
-            CategoryStatistics categoryStatistics = categoryStatisticsRepository.findById(quizCategory.getCategory())
-                    .orElse(CategoryStatistics.builder()
-                            .category(quizCategory.getCategory())
-                            .totalAnswers(0)
-                            .totalScore(0)
-                            .build());
+        applicationEventPublisher.publishEvent(new UserAnswerEvent(userAnswer));
+    }
 
-            int totalAnswers = categoryStatistics.getTotalAnswers() + 1;
-            int totalScore = categoryStatistics.getTotalScore() + userAnswerDto.getPreference();
+    // 현재 세대의 추천 세트에서 답변한 퀴즈를 뺀 목록을 추천 순서대로 만들어 캐시에 넣는다.
+    private List<Integer> loadRecommendQuizIds(int userIdx) {
+        // 답변을 확인하기 전에 캐시 버전을 읽어, 그 사이 커밋된 답변이 있으면 캐시에 넣지 않게 한다.
+        String cacheVersion = recommendQuizCache.readVersion(userIdx);
+        List<Integer> currentQuizIds = recommendQuizRepository.findCurrentQuizIds(userIdx);
 
-            categoryStatistics = CategoryStatistics.builder()
-                    .category(categoryStatistics.getCategory())
-                    .totalAnswers(totalAnswers)
-                    .totalScore(totalScore)
-                    .build();
+        RoaringBitmap answered = answeredQuizIndex.get(userIdx);
+        List<Integer> recommendQuizIds = currentQuizIds.stream()
+                .filter(quizId -> !answered.contains(quizId))
+                .toList();
 
-            categoryStatisticsRepository.save(categoryStatistics);
+        recommendQuizCache.put(userIdx, recommendQuizIds, cacheVersion);
+        return recommendQuizIds;
+    }
 
+    // 요청된 페이지 크기를 기본값/최대값 범위로 보정한다.
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
         }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 
-        applicationEventPublisher.publishEvent(new UserAnswerEvent(userAnswer));
+    private <T> T parseCursorValue(String cursor, Supplier<T> parser) {
+        try {
+            return parser.get();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor, e);
+        }
     }
 
-    @Override
-    public Boolean checkUserAnswer(HttpServletRequest httpServletRequest, Integer quizId) {
-        // HTTP 요청에서 사용자 ID를 추출합니다.
-        int userId = jwtUtil.getUserIdxFromRequest(httpServletRequest);
+    // pageSize + 1 건을 조회한 결과로 현재 페이지와 다음 커서를 만든다.
+    private QuizPageDto toQuizPage(List<Quiz> quizzes, int pageSize, Function<Quiz, String> cursorOf) {
+        boolean hasNext = quizzes.size() > pageSize;
+        List<Quiz> page = hasNext ? quizzes.subList(0, pageSize) : quizzes;
 
-        // 조회된 결과가 존재하면 true, 존재하지 않으면 false를 반환합니다.
-        return userAnswerRepository.findByUserIdAndQuizId(userId, quizId).isPresent();
+        return QuizPageDto.builder()
+                .quizzes(page.stream().map(this::toQuizDto).collect(Collectors.toList()))
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private QuizDto toQuizDto(Quiz quiz) {
+        return QuizDto.builder()
+                .quizId(quiz.getQuizId())
+                .authorUserId(quiz.getAuthorUserId())
+                .content(quiz.getContent())
+                .optionA(quiz.getOptionA())
+                .optionB(quiz.getOptionB())
+                .descriptionA(quiz.getDescriptionA())
+                .descriptionB(quiz.getDescriptionB())
+                .imageA(quiz.getImageA())
+                .imageB(quiz.getImageB())
+                .viewCount(quiz.getViewCount())
+                .preference(quiz.getPreference())
+                .createdAt(quiz.getCreatedAt())
+                .updatedAt(quiz.getUpdatedAt())
+                .build();
     }
 }
@@ -0,0 +1,226 @@
+package com.valanse.valanse.service.QuizService;
+
+import com.valanse.valanse.dto.QuizSuggestionDto;
+import com.valanse.valanse.dto.SuggestDto;
+import com.valanse.valanse.entity.Quiz;
+import com.valanse.valanse.repository.jpa.QuizRepository;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
+import com.valanse.valanse.util.HangulUtil;
+import com.valanse.valanse.util.PrefixTrie;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 검색창 자동완성용 메모리 인덱스. 퀴즈 제목은 조회수, 카테고리는 소속 퀴즈 조회수 합으로 순위를 매긴다.
+ * 키 입력마다 오는 요청이 DB에 닿지 않도록 접두사 트라이(PrefixTrie)에서만 답한다.
+ *
+ * 이 인스턴스와 다른 인스턴스의 퀴즈 변경은 QuizChangeEvent로, 이 인스턴스의 조회수 반영은 addViews로 바로 반영하고,
+ * 다른 인스턴스가 반영한 조회수는 주기적인 재구성으로 따라잡는다.
+ */
+@Slf4j
+@Component
+public class QuizSuggestIndex {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_KEY_LENGTH = 120; // 자모 단위. 접두사로만 찾으므로 앞부분이면 충분하다.
+    private static final int MAX_TITLE_LENGTH = 100;
+
+    private final QuizRepository quizRepository;
+    private final QuizCategoryIndex quizCategoryIndex;
+    private final int topK;
+
+    private volatile Snapshot snapshot;
+
+    // 재구성 중에 이 인스턴스에서 들어온 퀴즈 변경. 재구성 중이 아니면 null
+    private List<Consumer<Snapshot>> changesDuringRebuild;
+
+    public QuizSuggestIndex(QuizRepository quizRepository,
+                            QuizCategoryIndex quizCategoryIndex,
+                            @Value("${valanse.suggest.top-k:10}") int topK) {
+        this.quizRepository = quizRepository;
+        this.quizCategoryIndex = quizCategoryIndex;
+        this.topK = topK;
+        this.snapshot = new Snapshot(topK);
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public SuggestDto suggest(String prefix, int limit) {
+        String key = HangulUtil.toJamoKey(prefix);
+        if (key.isBlank()) {
+            return SuggestDto.builder().quizzes(List.of()).categories(List.of()).build();
+        }
+
+        Snapshot current = snapshot;
+        List<QuizSuggestionDto> quizzes = new ArrayList<>();
+        for (Integer quizId : current.quizTrie.top(key, limit)) {
+            QuizEntry entry = current.quizzes.get(quizId);
+            if (entry != null) {
+                quizzes.add(QuizSuggestionDto.builder()
+                        .quizId(quizId)
+                        .content(entry.title())
+                        .viewCount(entry.views())
+                        .build());
+            }
+        }
+
+        return SuggestDto.builder()
+                .quizzes(quizzes)
+                .categories(current.categoryTrie.top(key, limit))
+                .build();
+    }
+
+    // 등록/수정된 퀴즈를 DB에서 다시 읽어 반영한다.
+    public void putQuiz(Integer quizId, List<String> categories) {
+        Optional<Quiz> quiz = quizRepository.findById(quizId);
+        if (quiz.isEmpty()) {
+            removeQuiz(quizId);
+            return;
+        }
+
+        Quiz found = quiz.get();
+        long views = found.getViewCount() == null ? 0 : found.getViewCount();
+        apply(current -> current.put(quizId, found.getContent(), views, categories));
+    }
+
+    public void removeQuiz(Integer quizId) {
+        apply(current -> current.remove(quizId));
+    }
+
+    // DB에 반영된 조회수 증가분. 근사치로 충분하므로 재구성 중에 들어온 것은 다시 적용하지 않는다.
+    public void addViews(Map<Integer, Long> deltas) {
+        snapshot.addViews(deltas);
+    }
+
+    @Scheduled(initialDelayString = "${valanse.suggest.rebuild-interval-ms:600000}",
+            fixedDelayString = "${valanse.suggest.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        long startTime = System.currentTimeMillis();
+        Snapshot rebuilt = new Snapshot(topK);
+        try {
+            List<Quiz> quizzes = quizRepository.findAllByOrderByQuizIdAsc(PageRequest.of(0, BATCH_SIZE));
+            while (!quizzes.isEmpty()) {
+                for (Quiz quiz : quizzes) {
+                    long views = quiz.getViewCount() == null ? 0 : quiz.getViewCount();
+                    rebuilt.put(quiz.getQuizId(), quiz.getContent(), views, quizCategoryIndex.getCategories(quiz.getQuizId()));
+                }
+                if (quizzes.size() < BATCH_SIZE) {
+                    break;
+                }
+                quizzes = quizRepository.findNextPageByQuizId(quizzes.get(quizzes.size() - 1).getQuizId(), PageRequest.of(0, BATCH_SIZE));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            // DB를 읽는 동안 이 인스턴스에서 발생한 변경이 덮어써지지 않도록 다시 적용한다.
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            snapshot = rebuilt;
+        }
+
+        log.info("Quiz suggest index built: {} quizzes, {} categories in {} ms",
+                rebuilt.quizTrie.size(), rebuilt.categoryTrie.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private synchronized void apply(Consumer<Snapshot> change) {
+        change.accept(snapshot);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private static String toKey(String text) {
+        String key = HangulUtil.toJamoKey(text == null ? "" : text.strip());
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private record QuizEntry(String title, long views, List<String> categories) {
+    }
+
+    private static final class Snapshot {
+
+        private final PrefixTrie<Integer> quizTrie;
+        private final PrefixTrie<String> categoryTrie;
+        private final Map<Integer, QuizEntry> quizzes = new ConcurrentHashMap<>();
+        private final Map<String, Integer> quizCountByCategory = new HashMap<>();
+
+        private Snapshot(int topK) {
+            this.quizTrie = new PrefixTrie<>(topK);
+            this.categoryTrie = new PrefixTrie<>(topK);
+        }
+
+        private synchronized void put(Integer quizId, String content, long views, List<String> categories) {
+            remove(quizId);
+
+            String title = content == null ? "" : content.strip();
+            if (title.length() > MAX_TITLE_LENGTH) {
+                title = title.substring(0, MAX_TITLE_LENGTH);
+            }
+            List<String> distinctCategories = categories.stream().distinct().toList();
+
+            quizzes.put(quizId, new QuizEntry(title, views, distinctCategories));
+            quizTrie.put(toKey(title), quizId, views);
+            for (String category : distinctCategories) {
+                if (quizCountByCategory.merge(category, 1, Integer::sum) == 1) {
+                    categoryTrie.put(toKey(category), category, views);
+                } else {
+                    categoryTrie.addScore(category, views);
+                }
+            }
+        }
+
+        private synchronized void remove(Integer quizId) {
+            QuizEntry entry = quizzes.remove(quizId);
+            if (entry == null) {
+                return;
+            }
+
+            quizTrie.remove(quizId);
+            for (String category : entry.categories()) {
+                int count = quizCountByCategory.merge(category, -1, Integer::sum);
+                if (count <= 0) {
+                    quizCountByCategory.remove(category);
+                    categoryTrie.remove(category);
+                } else {
+                    categoryTrie.addScore(category, -entry.views());
+                }
+            }
+        }
+
+        private synchronized void addViews(Map<Integer, Long> deltas) {
+            deltas.forEach((quizId, delta) -> {
+                QuizEntry entry = quizzes.get(quizId);
+                if (entry == null) {
+                    return;
+                }
+                quizzes.put(quizId, new QuizEntry(entry.title(), entry.views() + delta, entry.categories()));
+                quizTrie.addScore(quizId, delta);
+                entry.categories().forEach(category -> categoryTrie.addScore(category, delta));
+            });
+        }
+    }
+}
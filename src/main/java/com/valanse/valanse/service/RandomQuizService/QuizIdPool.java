@@ -0,0 +1,129 @@
+package com.valanse.valanse.service.RandomQuizService;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 살아있는 퀴즈 식별자를 빈틈없이 채운 배열로 보관한다.
+ * 삭제는 마지막 원소를 빈 자리로 옮기는 방식이라 추가/삭제/추출 모두 O(1)이다.
+ *
+ * 식별자의 위치는 전체 퀴즈 풀처럼 식별자가 빽빽하면 식별자로 인덱싱하는 배열(dense)에,
+ * 카테고리 풀처럼 큰 식별자 몇 개만 있을 수 있으면 맵(sparse)에 둔다. 배열은 가장 큰 식별자만큼 커지기 때문이다.
+ */
+class QuizIdPool {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] ids = new int[64];
+    private int size;
+
+    // quizId -> (ids 배열에서의 위치 + 1), 0이면 없음. 둘 중 하나만 쓴다.
+    private int[] positions;
+    private final Map<Integer, Integer> sparsePositions;
+
+    private QuizIdPool(boolean dense) {
+        this.positions = dense ? new int[64] : null;
+        this.sparsePositions = dense ? null : new HashMap<>();
+    }
+
+    static QuizIdPool dense() {
+        return new QuizIdPool(true);
+    }
+
+    static QuizIdPool sparse() {
+        return new QuizIdPool(false);
+    }
+
+    boolean add(int quizId) {
+        lock.writeLock().lock();
+        try {
+            if (position(quizId) != 0) {
+                return false;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[size] = quizId;
+            setPosition(quizId, ++size);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean remove(int quizId) {
+        lock.writeLock().lock();
+        try {
+            int position = position(quizId);
+            if (position == 0) {
+                return false;
+            }
+            int index = position - 1;
+            int last = ids[--size];
+            ids[index] = last;
+            setPosition(last, index + 1);
+            setPosition(quizId, 0);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 임의의 퀴즈 식별자를 하나 꺼낸다. 비어 있으면 -1
+    int pick() {
+        lock.readLock().lock();
+        try {
+            if (size == 0) {
+                return -1;
+            }
+            return ids[ThreadLocalRandom.current().nextInt(size)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int[] snapshot() {
+        lock.readLock().lock();
+        try {
+            return Arrays.copyOf(ids, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int position(int quizId) {
+        if (positions == null) {
+            return sparsePositions.getOrDefault(quizId, 0);
+        }
+        return quizId < positions.length ? positions[quizId] : 0;
+    }
+
+    // 0이면 없앤다.
+    private void setPosition(int quizId, int position) {
+        if (positions == null) {
+            if (position == 0) {
+                sparsePositions.remove(quizId);
+            } else {
+                sparsePositions.put(quizId, position);
+            }
+            return;
+        }
+        if (quizId >= positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(quizId + 1, positions.length * 2));
+        }
+        positions[quizId] = position;
+    }
+}
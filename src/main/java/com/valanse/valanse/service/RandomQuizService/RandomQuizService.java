@@ -0,0 +1,21 @@
+package com.valanse.valanse.service.RandomQuizService;
+
+import com.valanse.valanse.dto.QuizDto;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.List;
+
+public interface RandomQuizService {
+
+    QuizDto getRandomQuiz(); // 전체 퀴즈 중 임의의 퀴즈
+
+    QuizDto getRandomUnansweredQuiz(HttpServletRequest httpServletRequest); // 사용자가 아직 풀지 않은 임의의 퀴즈
+
+    QuizDto getRandomQuizByCategory(String category); // 카테고리에 속한 임의의 퀴즈
+
+    void addQuiz(Integer quizId, List<String> categories);
+
+    void updateQuizCategories(Integer quizId, List<String> categories);
+
+    void removeQuiz(Integer quizId);
+}
@@ -0,0 +1,220 @@
+package com.valanse.valanse.service.RandomQuizService;
+
+import com.valanse.valanse.dto.QuizDto;
+import com.valanse.valanse.entity.Quiz;
+import com.valanse.valanse.entity.QuizCategory;
+import com.valanse.valanse.repository.jpa.QuizCategoryRepository;
+import com.valanse.valanse.repository.jpa.QuizRepository;
+import com.valanse.valanse.security.util.JwtUtil;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
+import com.valanse.valanse.service.UserAnswerService.AnsweredQuizIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RandomQuizServiceImpl implements RandomQuizService {
+
+    private static final int MAX_SAMPLING_ATTEMPTS = 16; // 조건에 맞는 퀴즈를 표본 추출로 찾는 최대 시도 횟수
+
+    private final QuizRepository quizRepository;
+    private final QuizCategoryRepository quizCategoryRepository;
+    private final AnsweredQuizIndex answeredQuizIndex;
+    private final JwtUtil jwtUtil;
+
+    private volatile QuizIdPool quizIdPool = QuizIdPool.dense();
+    private volatile Map<String, QuizIdPool> categoryPools = new ConcurrentHashMap<>(); // QuizCategoryIndex.normalize한 키 -> 풀
+
+    // 재구성 중에 들어온 변경 (quizId -> 변경 후 카테고리, 삭제면 null). 재구성 중이 아니면 null
+    private Map<Integer, List<String>> changesDuringRefresh;
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    // 평소에는 퀴즈 변경 이벤트로 증분 갱신하고, 브로드캐스트를 놓친 다른 인스턴스의 등록/수정을 따라잡기 위해 주기적으로 전체를 다시 읽는다.
+    @Scheduled(initialDelayString = "${valanse.random-quiz.refresh-interval-ms:300000}",
+            fixedDelayString = "${valanse.random-quiz.refresh-interval-ms:300000}")
+    public void refresh() {
+        synchronized (this) {
+            changesDuringRefresh = new HashMap<>();
+        }
+
+        List<Integer> quizIds;
+        List<QuizCategory> quizCategories;
+        try {
+            quizIds = quizRepository.findAllQuizIds();
+            quizCategories = quizCategoryRepository.findAll();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRefresh = null;
+            }
+            throw e;
+        }
+
+        QuizIdPool newQuizIdPool = QuizIdPool.dense();
+        Map<String, QuizIdPool> newCategoryPools = new ConcurrentHashMap<>();
+        quizIds.forEach(newQuizIdPool::add);
+        for (QuizCategory quizCategory : quizCategories) {
+            addToCategoryPools(newCategoryPools, quizCategory.getQuizId(), List.of(quizCategory.getCategory()));
+        }
+
+        synchronized (this) {
+            // DB를 읽는 동안 이 인스턴스에서 발생한 변경이 덮어써지지 않도록 다시 적용한다.
+            changesDuringRefresh.forEach((quizId, categories) -> {
+                removeFromCategoryPools(newCategoryPools, quizId);
+                if (categories == null) {
+                    newQuizIdPool.remove(quizId);
+                } else {
+                    newQuizIdPool.add(quizId);
+                    addToCategoryPools(newCategoryPools, quizId, categories);
+                }
+            });
+            changesDuringRefresh = null;
+
+            quizIdPool = newQuizIdPool;
+            categoryPools = newCategoryPools;
+        }
+
+        log.info("Random quiz pool loaded with {} quizzes and {} categories", newQuizIdPool.size(), newCategoryPools.size());
+    }
+
+    @Override
+    public QuizDto getRandomQuiz() {
+        return draw(quizIdPool, quizId -> true);
+    }
+
+    @Override
+    public QuizDto getRandomUnansweredQuiz(HttpServletRequest httpServletRequest) {
+        int userIdx = jwtUtil.getUserIdxFromRequest(httpServletRequest);
+
+        RoaringBitmap answeredQuizIds = answeredQuizIndex.get(userIdx);
+
+        return draw(quizIdPool, quizId -> !answeredQuizIds.contains(quizId));
+    }
+
+    @Override
+    public QuizDto getRandomQuizByCategory(String category) {
+        QuizIdPool pool = categoryPools.get(QuizCategoryIndex.normalize(category));
+        if (pool == null) {
+            throw new EntityNotFoundException("No quiz found for category: " + category);
+        }
+
+        return draw(pool, quizId -> true);
+    }
+
+    @Override
+    public synchronized void addQuiz(Integer quizId, List<String> categories) {
+        quizIdPool.add(quizId);
+        addToCategoryPools(categoryPools, quizId, categories);
+        if (changesDuringRefresh != null) {
+            changesDuringRefresh.put(quizId, categories);
+        }
+    }
+
+    @Override
+    public synchronized void updateQuizCategories(Integer quizId, List<String> categories) {
+        removeFromCategoryPools(categoryPools, quizId);
+        addToCategoryPools(categoryPools, quizId, categories);
+        if (changesDuringRefresh != null) {
+            changesDuringRefresh.put(quizId, categories);
+        }
+    }
+
+    @Override
+    public synchronized void removeQuiz(Integer quizId) {
+        quizIdPool.remove(quizId);
+        removeFromCategoryPools(categoryPools, quizId);
+        if (changesDuringRefresh != null) {
+            changesDuringRefresh.put(quizId, null);
+        }
+    }
+
+    // 카테고리 풀에는 큰 식별자 몇 개만 있을 수 있으므로, 식별자 크기만큼 배열을 잡지 않는 sparse 풀을 쓴다.
+    private static void addToCategoryPools(Map<String, QuizIdPool> categoryPools, Integer quizId, List<String> categories) {
+        for (String category : categories) {
+            categoryPools.computeIfAbsent(QuizCategoryIndex.normalize(category), key -> QuizIdPool.sparse()).add(quizId);
+        }
+    }
+
+    private static void removeFromCategoryPools(Map<String, QuizIdPool> categoryPools, Integer quizId) {
+        categoryPools.values().forEach(pool -> pool.remove(quizId));
+    }
+
+    // 풀에서 조건에 맞는 식별자를 뽑은 뒤 마지막에 한 번만 DB에서 퀴즈를 조회한다.
+    private QuizDto draw(QuizIdPool pool, IntPredicate condition) {
+        for (int attempt = 0; attempt < MAX_SAMPLING_ATTEMPTS; attempt++) {
+            int quizId = pool.pick();
+            if (quizId < 0) {
+                break;
+            }
+            if (!condition.test(quizId)) {
+                continue;
+            }
+
+            Optional<QuizDto> quiz = fetch(quizId);
+            if (quiz.isPresent()) {
+                return quiz.get();
+            }
+        }
+
+        // 조건에 맞는 퀴즈가 드문 경우(대부분의 퀴즈를 이미 푼 사용자 등) 후보를 직접 추려서 고른다.
+        int[] candidates = Arrays.stream(pool.snapshot()).filter(condition).toArray();
+        while (candidates.length > 0) {
+            int index = ThreadLocalRandom.current().nextInt(candidates.length);
+
+            Optional<QuizDto> quiz = fetch(candidates[index]);
+            if (quiz.isPresent()) {
+                return quiz.get();
+            }
+
+            candidates[index] = candidates[candidates.length - 1];
+            candidates = Arrays.copyOf(candidates, candidates.length - 1);
+        }
+
+        throw new EntityNotFoundException("No quiz available");
+    }
+
+    private Optional<QuizDto> fetch(int quizId) {
+        Optional<Quiz> quiz = quizRepository.findById(quizId);
+
+        if (quiz.isEmpty()) {
+            // 다른 인스턴스에서 삭제되어 풀에만 남아있던 식별자는 정리한다.
+            log.warn("Quiz ID {} in random pool no longer exists, removing", quizId);
+            removeQuiz(quizId);
+        }
+
+        return quiz.map(this::toQuizDto);
+    }
+
+    private QuizDto toQuizDto(Quiz quiz) {
+        return QuizDto.builder()
+                .quizId(quiz.getQuizId())
+                .authorUserId(quiz.getAuthorUserId())
+                .content(quiz.getContent())
+                .optionA(quiz.getOptionA())
+                .optionB(quiz.getOptionB())
+                .descriptionA(quiz.getDescriptionA())
+                .descriptionB(quiz.getDescriptionB())
+                .imageA(quiz.getImageA())
+                .imageB(quiz.getImageB())
+                .viewCount(quiz.getViewCount())
+                .preference(quiz.getPreference())
+                .createdAt(quiz.getCreatedAt())
+                .updatedAt(quiz.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,13 +1,13 @@
 package com.valanse.valanse.service.RecommendService;
 
-import com.valanse.valanse.entity.Quiz;
-
-import java.util.List;
+import java.util.Map;
 
 public interface RecommendService {
 
-    void updateFavoriteCategory(String data);
+    void updateFavoriteCategory(Integer userId, String category);
+
+    void updateRecommendQuiz(Integer userId, int[] recommendQuizIds);
 
-    void updateRecommendQuiz(String data);
+    void updateRecommendQuizzes(Map<Integer, int[]> recommendQuizIdsByUser);
 
-}
\ No newline at end of file
+}
@@ -1,12 +1,13 @@
 package com.valanse.valanse.service.RecommendService;
 
 import com.valanse.valanse.entity.FavoriteCategory;
-import com.valanse.valanse.entity.RecommendQuiz;
+import com.valanse.valanse.redis.service.RecommendQuizCache;
 import com.valanse.valanse.repository.jpa.FavoriteCategoryRepository;
-import com.valanse.valanse.repository.jpa.RecommendQuizRepository;
-import com.valanse.valanse.util.DataParseUtil;
+import com.valanse.valanse.repository.jpa.UserAnswerRepository;
+import com.valanse.valanse.repository.jdbc.RecommendQuizJdbcRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -16,16 +17,17 @@ import java.util.*;
 @RequiredArgsConstructor
 public class RecommendServiceImpl implements RecommendService {
 
+    private static final int GC_USER_RANGE = 1000;
+    private static final int CACHE_USER_CHUNK = 200;
+
     private final FavoriteCategoryRepository favoriteCategoryRepository;
-    private final RecommendQuizRepository recommendQuizRepository;
+    private final RecommendQuizJdbcRepository recommendQuizJdbcRepository;
+    private final UserAnswerRepository userAnswerRepository;
+    private final RecommendQuizCache recommendQuizCache;
 
     @Override
-    public void updateFavoriteCategory(String data) {
+    public void updateFavoriteCategory(Integer userId, String category) {
         try {
-            Map<String, String> dataMap = DataParseUtil.parseCommaSeparatedKeyValuePairs(data);
-            Integer userId = Integer.valueOf(dataMap.get("userId"));
-            String category = dataMap.get("category");
-
             FavoriteCategory newFavoriteCategory = FavoriteCategory.builder()
                     .userId(userId)
                     .category(category)
@@ -33,62 +35,86 @@ public class RecommendServiceImpl implements RecommendService {
 
             favoriteCategoryRepository.save(newFavoriteCategory);
             log.info("Successfully updated favorite category for user_id: {}, category: {}", userId, category);
-        } catch (NumberFormatException e) {
-            log.error("Failed to parse userId from data: {}", data, e);
         } catch (Exception e) {
-            log.error("An error occurred while updating favorite category with data: {}", data, e);
+            log.error("An error occurred while updating favorite category for user_id: {}, category: {}", userId, category, e);
         }
     }
 
     @Override
-    public void updateRecommendQuiz(String data) {
+    public void updateRecommendQuiz(Integer userId, int[] recommendQuizIds) {
+        log.info("Recommended Quiz IDs for user ID {}: {}", userId, Arrays.toString(recommendQuizIds));
+        updateRecommendQuizzes(Map.of(userId, recommendQuizIds));
+    }
+
+    @Override
+    public void updateRecommendQuizzes(Map<Integer, int[]> recommendQuizIdsByUser) {
         try {
-            Map<String, String> dataMap = new HashMap<>();
+            recommendQuizIdsByUser.forEach((userId, quizIds) -> {
+                if (quizIds.length == 0) {
+                    log.warn("recommendQuizIds is empty, recommendations will be cleared for user ID: {}", userId);
+                }
+            });
 
-            // 콜론(:)을 기준으로 나누고, 키와 값을 분리
-            String[] keyValuePairs = data.split(",(?=[a-zA-Z])"); // 알파벳 앞에서만 ,로 분리
+            // 사용자별 추천 세트를 새 세대로 교체한다. 이전 세트는 purgeStaleRecommendations에서 지운다.
+            int inserted = recommendQuizJdbcRepository.replaceAll(recommendQuizIdsByUser);
+            log.info("Replaced recommended quizzes for {} users ({} rows inserted)", recommendQuizIdsByUser.size(), inserted);
 
-            for (String pair : keyValuePairs) {
-                log.info("Pair: {}", pair); // 각 keyValuePair 확인
-                String[] keyValue = pair.split(":");
-                String key = keyValue[0].trim();
-                String value = keyValue[1].trim();
-                dataMap.put(key, value);
-            }
+            cacheRecommendQuizzes(recommendQuizIdsByUser);
+
+        } catch (Exception e) {
+            log.error("Error occurred while updating recommended quizzes: ", e);
+        }
+    }
+
+    // 이미 답변한 퀴즈를 빼고 사용자별 추천 집합을 Redis에 채운다. 답변 확인은 사용자 묶음마다 쿼리 한 번으로 한다.
+    private void cacheRecommendQuizzes(Map<Integer, int[]> recommendQuizIdsByUser) {
+        List<Integer> userIds = new ArrayList<>(recommendQuizIdsByUser.keySet());
 
-            // userId와 recommendQuizIds 추출
-            Integer userId = Integer.valueOf(dataMap.get("userId"));
-            String recommendQuizIds = dataMap.get("recommendedQuizIds");
+        for (int from = 0; from < userIds.size(); from += CACHE_USER_CHUNK) {
+            List<Integer> chunk = userIds.subList(from, Math.min(from + CACHE_USER_CHUNK, userIds.size()));
 
-            log.info("User ID: {}", userId);
-            log.info("Recommended Quiz IDs: {}", recommendQuizIds);
+            Set<Integer> quizIds = new HashSet<>();
+            for (Integer userId : chunk) {
+                Arrays.stream(recommendQuizIdsByUser.get(userId)).forEach(quizIds::add);
+            }
 
-            List<Integer> recommendQuizList = Optional.ofNullable(recommendQuizIds)
-                    .filter(ids -> !ids.isEmpty())
-                    .map(ids -> Arrays.stream(ids.split(","))
-                            .map(Integer::valueOf)
-                            .toList())
-                    .orElse(new ArrayList<>());
+            // 답변을 확인하기 전에 캐시 버전을 읽어, 그 사이 커밋된 답변이 있는 사용자의 집합은 교체하지 않게 한다.
+            Map<Integer, String> cacheVersions = recommendQuizCache.readVersions(chunk);
 
-            if (recommendQuizList.isEmpty()) {
-                log.warn("recommendQuizIds is null or empty, no recommendations will be updated for user ID: {}", userId);
-                // 추천 문제가 없는 경우의 처리 로직
-                return;
+            Map<Integer, Set<Integer>> answeredByUser = new HashMap<>();
+            if (!quizIds.isEmpty()) {
+                for (Object[] pair : userAnswerRepository.findAnsweredPairs(chunk, quizIds)) {
+                    answeredByUser.computeIfAbsent((Integer) pair[0], key -> new HashSet<>()).add((Integer) pair[1]);
+                }
             }
 
-            List<RecommendQuiz> recommendQuizzes = recommendQuizList.stream()
-                    .map(quizId -> RecommendQuiz.builder()
-                            .userId(userId)
-                            .quizId(quizId)
-                            .build())
-                    .toList();
+            for (Integer userId : chunk) {
+                Set<Integer> answered = answeredByUser.getOrDefault(userId, Set.of());
+                List<Integer> unanswered = Arrays.stream(recommendQuizIdsByUser.get(userId))
+                        .distinct()
+                        .filter(quizId -> !answered.contains(quizId))
+                        .boxed()
+                        .toList();
+                recommendQuizCache.put(userId, unanswered, cacheVersions.get(userId));
+            }
+        }
+    }
 
-            recommendQuizRepository.saveAll(recommendQuizzes);
+    // 교체되어 더 이상 읽히지 않는 이전 세대 추천 행을 사용자 구간 단위로 모아서 지운다.
+    @Scheduled(fixedDelayString = "${valanse.recommend.gc-interval-ms:600000}")
+    public void purgeStaleRecommendations() {
+        try {
+            int maxUserId = recommendQuizJdbcRepository.findMaxUserId();
+            int deleted = 0;
+            for (int fromUserId = 0; fromUserId <= maxUserId; fromUserId += GC_USER_RANGE) {
+                deleted += recommendQuizJdbcRepository.deleteStaleGenerations(fromUserId, fromUserId + GC_USER_RANGE - 1);
+            }
 
-        } catch (NumberFormatException e) {
-            log.error("Error parsing integer values: ", e);
+            if (deleted > 0) {
+                log.info("Purged {} stale recommended quiz rows", deleted);
+            }
         } catch (Exception e) {
-            log.error("Error occurred while updating recommended quizzes: ", e);
+            log.error("Error occurred while purging stale recommended quizzes: ", e);
         }
     }
 }
@@ -0,0 +1,19 @@
+package com.valanse.valanse.service.TrendingService;
+
+import com.valanse.valanse.dto.QuizDto;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TrendingService {
+
+    void recordViews(Map<Integer, Long> views); // DB에 반영된 조회수 증가분
+
+    void recordAnswer(Integer quizId);
+
+    void recordComment(Integer quizId);
+
+    void removeQuiz(Integer quizId);
+
+    List<QuizDto> getTrendingQuizzes(Integer size); // 시간 감쇠 점수가 높은 순
+}
@@ -0,0 +1,214 @@
+package com.valanse.valanse.service.TrendingService;
+
+import com.valanse.valanse.dto.QuizDto;
+import com.valanse.valanse.redis.service.QuizDtoCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * 조회·답변·댓글에 가중치를 주고 시간이 지날수록 지수적으로 감쇠하는 인기 점수로 급상승 퀴즈를 고른다.
+ *
+ * 점수는 Redis 정렬 집합에 "전방 감쇠(forward decay)" 형태로 둔다: 사건마다 가중치 × e^((발생 시각 - 기준 시각) / τ)를 더한다.
+ * 지금 시점에서 각 사건을 e^(-(지금 - 발생 시각) / τ)로 감쇠시킨 합과 순서가 같으므로, 기존 점수를 다시 계산하지 않아도 된다.
+ * 값이 너무 커지지 않도록 스케줄러가 주기적으로 기준 시각을 옮기며 전체를 한 번에 축소(ZUNIONSTORE WEIGHTS)하고 하위 항목을 잘라낸다.
+ *
+ * 사건은 메모리에 모았다가 주기적으로 스크립트 한 번에 반영하고, 조회는 주기적으로 읽어 둔 상위 목록으로 답한다.
+ */
+@Slf4j
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final String KEY = "trending:quiz";
+    private static final String BASE_KEY = "trending:quiz:base"; // 점수 기준 시각 (epoch 초)
+
+    private static final int DEFAULT_SIZE = 20;
+    private static final int MAX_SIZE = 100; // 메모리에 읽어 두는 상위 목록 크기이자 한 번에 내려줄 수 있는 최대 개수
+    private static final int CHUNK_SIZE = 500;
+
+    // ARGV: 지금(초), τ(초), 이후 (퀴즈 식별자, 가중치) 쌍
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local base = tonumber(redis.call('GET', KEYS[2]))
+            if not base then
+                base = now
+                redis.call('SET', KEYS[2], ARGV[1])
+            end
+            local factor = math.exp((now - base) / tonumber(ARGV[2]))
+            for i = 3, #ARGV, 2 do
+                redis.call('ZINCRBY', KEYS[1], tostring(tonumber(ARGV[i + 1]) * factor), ARGV[i])
+            end
+            return (#ARGV - 2) / 2
+            """, Long.class);
+
+    // ARGV: 지금(초), τ(초), 기준 시각을 옮기는 주기(초), 남길 최대 개수
+    private static final RedisScript<Long> REBASE_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local base = tonumber(redis.call('GET', KEYS[2]))
+            if base and now - base >= tonumber(ARGV[3]) then
+                redis.call('ZUNIONSTORE', KEYS[1], 1, KEYS[1], 'WEIGHTS', tostring(math.exp((base - now) / tonumber(ARGV[2]))))
+                redis.call('SET', KEYS[2], ARGV[1])
+            end
+            redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[4]) + 1))
+            return redis.call('ZCARD', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final QuizDtoCache quizDtoCache;
+    private final double viewWeight;
+    private final double answerWeight;
+    private final double commentWeight;
+    private final double tauSeconds;
+    private final long rebaseIntervalSeconds;
+    private final int maxEntries;
+
+    // 퀴즈 식별자 -> 아직 반영하지 않은 가중치 합. 카운터는 지우지 않고 재사용하여 증가분 유실을 막는다.
+    private final Map<Integer, DoubleAdder> pending = new ConcurrentHashMap<>();
+
+    private volatile List<Integer> topQuizIds = List.of();
+
+    public TrendingServiceImpl(StringRedisTemplate stringRedisTemplate,
+                               QuizDtoCache quizDtoCache,
+                               @Value("${valanse.trending.weights.view:1}") double viewWeight,
+                               @Value("${valanse.trending.weights.answer:3}") double answerWeight,
+                               @Value("${valanse.trending.weights.comment:5}") double commentWeight,
+                               @Value("${valanse.trending.half-life-hours:24}") double halfLifeHours,
+                               @Value("${valanse.trending.rebase-interval-hours:24}") long rebaseIntervalHours,
+                               @Value("${valanse.trending.max-entries:10000}") int maxEntries) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.quizDtoCache = quizDtoCache;
+        this.viewWeight = viewWeight;
+        this.answerWeight = answerWeight;
+        this.commentWeight = commentWeight;
+        this.tauSeconds = halfLifeHours * 3600 / Math.log(2);
+        this.rebaseIntervalSeconds = rebaseIntervalHours * 3600;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public void recordViews(Map<Integer, Long> views) {
+        views.forEach((quizId, count) -> record(quizId, count * viewWeight));
+    }
+
+    @Override
+    public void recordAnswer(Integer quizId) {
+        record(quizId, answerWeight);
+    }
+
+    @Override
+    public void recordComment(Integer quizId) {
+        record(quizId, commentWeight);
+    }
+
+    @Override
+    public void removeQuiz(Integer quizId) {
+        pending.remove(quizId);
+        topQuizIds = topQuizIds.stream().filter(id -> !id.equals(quizId)).toList();
+        try {
+            stringRedisTemplate.opsForZSet().remove(KEY, String.valueOf(quizId));
+        } catch (DataAccessException e) {
+            log.warn("Failed to remove quiz {} from trending: {}", quizId, e.getMessage());
+        }
+    }
+
+    @Override
+    public List<QuizDto> getTrendingQuizzes(Integer size) {
+        int limit = size == null || size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+        List<Integer> quizIds = topQuizIds;
+        return quizDtoCache.getQuizzes(quizIds.subList(0, Math.min(limit, quizIds.size())));
+    }
+
+    // 모은 사건을 반영하고 상위 목록을 다시 읽는다.
+    @Scheduled(fixedDelayString = "${valanse.trending.flush-interval-ms:2000}")
+    public void flushAndRefresh() {
+        flush();
+        refreshTop();
+    }
+
+    // 기준 시각을 옮기고 하위 항목을 잘라낸다. 여러 인스턴스가 실행해도 스크립트 안에서 주기를 확인하므로 한 번만 옮겨진다.
+    @Scheduled(fixedDelayString = "${valanse.trending.maintenance-interval-ms:60000}")
+    public void maintain() {
+        try {
+            Long size = stringRedisTemplate.execute(REBASE_SCRIPT, List.of(KEY, BASE_KEY),
+                    String.valueOf(nowSeconds()), String.valueOf(tauSeconds), String.valueOf(rebaseIntervalSeconds), String.valueOf(maxEntries));
+            log.debug("Trending set maintained: {} entries", size);
+        } catch (DataAccessException e) {
+            log.warn("Failed to maintain trending set: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void record(Integer quizId, double weight) {
+        if (weight > 0) {
+            pending.computeIfAbsent(quizId, id -> new DoubleAdder()).add(weight);
+        }
+    }
+
+    private synchronized void flush() {
+        Map<Integer, Double> weights = new HashMap<>();
+        pending.forEach((quizId, adder) -> {
+            double weight = adder.sum();
+            if (weight > 0) {
+                // reset 대신 읽은 만큼만 빼서, 그 사이 들어온 증가분은 다음 주기로 넘긴다.
+                adder.add(-weight);
+                weights.put(quizId, weight);
+            }
+        });
+
+        if (weights.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Integer, Double>> entries = new ArrayList<>(weights.entrySet());
+        String now = String.valueOf(nowSeconds());
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<Integer, Double>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+
+            List<String> args = new ArrayList<>(chunk.size() * 2 + 2);
+            args.add(now);
+            args.add(String.valueOf(tauSeconds));
+            for (Map.Entry<Integer, Double> entry : chunk) {
+                args.add(String.valueOf(entry.getKey()));
+                args.add(String.valueOf(entry.getValue()));
+            }
+
+            try {
+                stringRedisTemplate.execute(INCREMENT_SCRIPT, List.of(KEY, BASE_KEY), args.toArray());
+            } catch (DataAccessException e) {
+                // 반영에 실패한 가중치는 되돌려 다음 주기에 다시 시도한다.
+                chunk.forEach(entry -> pending.computeIfAbsent(entry.getKey(), id -> new DoubleAdder()).add(entry.getValue()));
+                log.warn("Failed to flush {} trending scores: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void refreshTop() {
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(KEY, 0, MAX_SIZE - 1);
+            if (members != null) {
+                topQuizIds = members.stream().map(Integer::valueOf).toList();
+            }
+        } catch (DataAccessException e) {
+            // 읽지 못하면 마지막으로 읽은 목록을 계속 쓴다.
+            log.warn("Failed to refresh trending quizzes: {}", e.getMessage());
+        }
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,203 @@
+package com.valanse.valanse.service.UserAnswerService;
+
+import com.valanse.valanse.repository.jpa.UserAnswerRepository;
+import com.valanse.valanse.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별로 답변한 퀴즈 식별자 집합을 압축 비트맵(RoaringBitmap)으로 보관한다.
+ * 인스턴스 메모리(L1)와 Redis(L2, 직렬화한 비트맵)에 캐싱하고, 둘 다 없으면 user_answer에서 한 번 읽어 만든다.
+ *
+ * 답변이 저장되면 이 인스턴스의 비트맵에는 바로 추가하고, Redis 값은 지우고 다른 인스턴스에는 pub/sub으로 무효화를 알린다.
+ * 여러 인스턴스가 같은 Redis 값을 읽고-고쳐-쓰며 답변을 잃어버리는 일을 막기 위함이다.
+ * 사용자별 버전(answered:version:{userId})을 답변마다 올리고, DB에서 만든 비트맵은 읽기 전의 버전이 그대로일 때만 Redis에 쓴다.
+ * 그래서 다른 인스턴스의 답변 커밋 전에 읽은 비트맵이 그 뒤의 무효화(DEL)보다 늦게 써지더라도 Redis에 남지 않는다.
+ * L1의 비트맵은 공유되므로 수정하지 않고, 바꿀 때는 복사본을 만들어 교체한다.
+ */
+@Slf4j
+@Component
+public class AnsweredQuizIndex {
+
+    private static final String KEY_PREFIX = "answered:";
+    private static final String VERSION_KEY_PREFIX = "answered:version:";
+    private static final String INVALIDATION_CHANNEL = "answered:invalidation";
+
+    // KEYS: 비트맵 키, 버전 키 / ARGV: TTL(초)
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            redis.call('DEL', KEYS[1])
+            return version
+            """, Long.class);
+
+    // KEYS: 비트맵 키, 버전 키 / ARGV: DB를 읽기 전의 버전(없으면 빈 문자열), 직렬화한 비트맵, TTL(초)
+    private static final String WRITE_IF_UNCHANGED_SCRIPT = """
+            local version = redis.call('GET', KEYS[2]) or ''
+            if version ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3], 'NX')
+            return 1
+            """;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final UserAnswerRepository userAnswerRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final long ttlSeconds;
+    private final LruCache<Integer, RoaringBitmap> localCache;
+
+    // 무효화가 일어날 때마다 증가한다. 읽는 도중 무효화가 있었다면 읽은 값을 캐시에 넣지 않는다.
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    public AnsweredQuizIndex(UserAnswerRepository userAnswerRepository,
+                             StringRedisTemplate stringRedisTemplate,
+                             RedisMessageListenerContainer redisMessageListenerContainer,
+                             @Value("${valanse.answered-index.ttl-seconds:86400}") long ttlSeconds,
+                             @Value("${valanse.answered-index.l1-max-size:10000}") int localMaxSize,
+                             @Value("${valanse.answered-index.l1-ttl-ms:600000}") long localTtlMillis) {
+        this.userAnswerRepository = userAnswerRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.ttlSeconds = ttlSeconds;
+        this.localCache = new LruCache<>(localMaxSize, localTtlMillis);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        // 메시지 형식: "<보낸 인스턴스>|<userId>"
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length == 2 && !instanceId.equals(parts[0])) {
+                invalidationEpoch.incrementAndGet();
+                localCache.remove(Integer.valueOf(parts[1]));
+            }
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public boolean contains(int userId, int quizId) {
+        return get(userId).contains(quizId);
+    }
+
+    // 사용자가 답변한 퀴즈 집합. 반환된 비트맵은 수정하면 안 된다.
+    public RoaringBitmap get(int userId) {
+        RoaringBitmap answered = localCache.get(userId);
+        if (answered != null) {
+            return answered;
+        }
+
+        long epoch = invalidationEpoch.get();
+        answered = read(userId);
+        if (answered != null) {
+            if (invalidationEpoch.get() == epoch) {
+                localCache.put(userId, answered);
+            }
+            return answered;
+        }
+
+        // DB를 읽기 전에 버전을 읽어 둔다. 읽지 못하면 캐시하지 않는다.
+        String version = readVersion(userId);
+        answered = RoaringBitmap.bitmapOf(userAnswerRepository.findQuizIdsByUserId(userId).stream()
+                .mapToInt(Integer::intValue)
+                .toArray());
+        answered.runOptimize();
+
+        // 그 사이 어느 인스턴스에서든 답변이 있었다면 버전이 바뀌었으므로 Redis에도 L1에도 넣지 않는다.
+        if (version != null && write(userId, version, answered) && invalidationEpoch.get() == epoch) {
+            localCache.put(userId, answered);
+        }
+        return answered;
+    }
+
+    // 답변 커밋 후 호출한다.
+    public void add(int userId, int quizId) {
+        invalidationEpoch.incrementAndGet();
+        RoaringBitmap current = localCache.get(userId);
+        if (current != null) {
+            RoaringBitmap updated = current.clone();
+            updated.add(quizId);
+            localCache.put(userId, updated);
+        }
+
+        try {
+            stringRedisTemplate.execute(INVALIDATE_SCRIPT, List.of(KEY_PREFIX + userId, VERSION_KEY_PREFIX + userId),
+                    String.valueOf(ttlSeconds));
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + "|" + userId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to invalidate answered quizzes for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private RoaringBitmap read(int userId) {
+        try {
+            byte[] bytes = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(key(userId)));
+            if (bytes == null) {
+                return null;
+            }
+
+            RoaringBitmap answered = new RoaringBitmap();
+            answered.deserialize(ByteBuffer.wrap(bytes));
+            return answered;
+        } catch (DataAccessException | IOException e) {
+            log.warn("Failed to read answered quizzes for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    // 버전 키가 없으면 빈 문자열, Redis를 읽지 못하면 null
+    private String readVersion(int userId) {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(VERSION_KEY_PREFIX + userId);
+            return version == null ? "" : version;
+        } catch (DataAccessException e) {
+            log.warn("Failed to read answered quizzes version for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    // 버전이 읽은 그대로일 때만 쓴다. 다른 인스턴스가 먼저 채웠다면 덮어쓰지 않는다(NX). 버전이 바뀌었거나 실패하면 false
+    private boolean write(int userId, String version, RoaringBitmap answered) {
+        ByteBuffer buffer = ByteBuffer.allocate(answered.serializedSizeInBytes());
+        answered.serialize(buffer);
+
+        try {
+            Long written = stringRedisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                    .eval(bytes(WRITE_IF_UNCHANGED_SCRIPT), ReturnType.INTEGER, 2,
+                            key(userId), bytes(VERSION_KEY_PREFIX + userId),
+                            bytes(version), buffer.array(), bytes(String.valueOf(ttlSeconds))));
+            return written != null && written == 1;
+        } catch (DataAccessException e) {
+            log.warn("Failed to cache answered quizzes for user {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    private byte[] key(int userId) {
+        return bytes(KEY_PREFIX + userId);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
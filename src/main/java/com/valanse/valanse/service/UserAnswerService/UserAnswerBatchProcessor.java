@@ -0,0 +1,235 @@
+package com.valanse.valanse.service.UserAnswerService;
+
+import com.valanse.valanse.entity.UserAnswer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 답변 후 카테고리 선호도 갱신을 요청 스레드에서 떼어내 묶어서 처리한다.
+ * 제한된 큐에 쌓인 답변을 전용 워커가 시간/개수 창 단위로 꺼내 UserAnswerService에 한 번에 넘긴다.
+ * 큐가 가득 차면 호출 스레드에서 직접 처리해 생산 속도를 늦춘다(backpressure).
+ * 배치 반영이 실패하면 간격을 늘려 가며 다시 시도하고, 그래도 실패하면 배치를 반으로 나눠 다시 시도해
+ * 문제가 되는 답변만 남긴다. 한 건짜리 배치까지 실패한 답변만 실패로 기록한다.
+ */
+@Slf4j
+@Component
+public class UserAnswerBatchProcessor {
+
+    private static final long POLL_TIMEOUT_MS = 200;
+
+    private final UserAnswerService userAnswerService;
+    private final BlockingQueue<UserAnswer> queue;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final long shutdownTimeoutMs;
+    private final int retryAttempts;
+    private final long retryBackoffMs;
+
+    private volatile boolean running = true;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder(); // 큐가 가득 차 호출 스레드에서 처리한 수
+
+    public UserAnswerBatchProcessor(UserAnswerService userAnswerService,
+                                    @Value("${valanse.answer-batch.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${valanse.answer-batch.workers:2}") int workerCount,
+                                    @Value("${valanse.answer-batch.max-batch-size:500}") int maxBatchSize,
+                                    @Value("${valanse.answer-batch.window-ms:50}") long windowMs,
+                                    @Value("${valanse.answer-batch.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                                    @Value("${valanse.answer-batch.retry-attempts:3}") int retryAttempts,
+                                    @Value("${valanse.answer-batch.retry-backoff-ms:100}") long retryBackoffMs) {
+        this.userAnswerService = userAnswerService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.retryAttempts = Math.max(1, retryAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "answer-batch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::runWorker);
+        }
+    }
+
+    public void submit(UserAnswer userAnswer) {
+        submitted.increment();
+        if (running && queue.offer(userAnswer)) {
+            return;
+        }
+
+        // 큐가 가득 찼거나 종료 중이면 호출 스레드에서 바로 처리한다.
+        callerRuns.increment();
+        write(List.of(userAnswer));
+    }
+
+    private void runWorker() {
+        List<UserAnswer> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                UserAnswer first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 답변을 받은 뒤 창이 끝나거나 배치가 찰 때까지 더 모은다.
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    UserAnswer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                write(batch);
+                return;
+            }
+
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<UserAnswer> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (writeWithRetry(batch)) {
+            processed.add(batch.size());
+            batches.increment();
+            return;
+        }
+
+        if (batch.size() == 1) {
+            UserAnswer answer = batch.get(0);
+            failed.increment();
+            log.error("Dropped category preference update for user {} quiz {} after {} attempts",
+                    answer.getUserId(), answer.getQuizId(), retryAttempts);
+            return;
+        }
+
+        // 한 트랜잭션이라 실패한 배치는 아무것도 반영되지 않았으므로, 나눠서 다시 반영해도 중복되지 않는다.
+        int middle = batch.size() / 2;
+        write(batch.subList(0, middle));
+        write(batch.subList(middle, batch.size()));
+    }
+
+    private boolean writeWithRetry(List<UserAnswer> batch) {
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 1; attempt <= retryAttempts; attempt++) {
+            try {
+                userAnswerService.updateUserCategoryPreferences(batch);
+                return true;
+            } catch (Exception e) {
+                log.warn("Error updating user category preferences for {} answers (attempt {}/{}): {}",
+                        batch.size(), attempt, retryAttempts, e.getMessage());
+            }
+
+            if (attempt < retryAttempts && !sleep(backoffMs)) {
+                break;
+            }
+            backoffMs *= 2;
+        }
+        return false;
+    }
+
+    // 인터럽트되면 false. 인터럽트 상태는 유지해 워커가 종료하도록 한다.
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${valanse.answer-batch.stats-interval-ms:60000}")
+    public void logStats() {
+        if (callerRuns.sum() > 0 || failed.sum() > 0) {
+            log.warn("Answer batch stats: queued={}, submitted={}, processed={}, batches={}, callerRuns={}, failed={}",
+                    queue.size(), submitted.sum(), processed.sum(), batches.sum(), callerRuns.sum(), failed.sum());
+        } else {
+            log.debug("Answer batch stats: queued={}, submitted={}, processed={}, batches={}",
+                    queue.size(), submitted.sum(), processed.sum(), batches.sum());
+        }
+    }
+
+    // 새 답변은 호출 스레드로 돌리고, 큐에 남은 답변을 모두 반영한 뒤 종료한다.
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdown();
+
+        try {
+            if (!workers.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        List<UserAnswer> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+
+        log.info("Answer batch processor stopped: submitted={}, processed={}, failed={}",
+                submitted.sum(), processed.sum(), failed.sum());
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+}
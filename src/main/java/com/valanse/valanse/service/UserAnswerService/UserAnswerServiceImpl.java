@@ -1,102 +1,94 @@
 package com.valanse.valanse.service.UserAnswerService;
 
-import com.valanse.valanse.entity.QuizCategory;
+import com.valanse.valanse.dto.UserCategoryPreferenceDeltaDto;
 import com.valanse.valanse.entity.UserAnswer;
-import com.valanse.valanse.entity.UserCategoryPreference;
-import com.valanse.valanse.entity.UserCategoryPreferenceId;
-import com.valanse.valanse.repository.jpa.QuizCategoryRepository;
-import com.valanse.valanse.repository.jpa.UserCategoryPreferenceRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityNotFoundException;
+import com.valanse.valanse.kafka.EventType;
+import com.valanse.valanse.kafka.OutboxEventPublisher;
+import com.valanse.valanse.kafka.codec.ChangeEvent;
+import com.valanse.valanse.repository.jdbc.UserCategoryPreferenceJdbcRepository;
+import com.valanse.valanse.service.QuizCategoryService.QuizCategoryIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserAnswerServiceImpl implements UserAnswerService {
 
-    private final QuizCategoryRepository quizCategoryRepository;
-    private final UserCategoryPreferenceRepository userCategoryPreferenceRepository;
-    private final EntityManager entityManager;
+    private final QuizCategoryIndex quizCategoryIndex;
+    private final UserCategoryPreferenceJdbcRepository userCategoryPreferenceJdbcRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
 
+    // 추천 서버는 아직 카테고리마다의 기존 이벤트만 처리하므로, binary 형식으로 바꿀 때 사용자당 한 번 알리는 새 이벤트도 함께 켠다.
+    @Value("${valanse.kafka.event-format:legacy}")
+    private String eventFormat;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    @Transactional
     public void updateUserCategoryPreference(UserAnswer userAnswer) {
-        try {
-            Integer userId = userAnswer.getUserId();
-            log.info("Updating user category preference for user ID: {}", userId);
+        updateUserCategoryPreferences(List.of(userAnswer));
+    }
 
-            List<QuizCategory> quizCategories = quizCategoryRepository.findByQuizId(userAnswer.getQuizId());
-            List<String> categories = quizCategories.stream()
-                    .map(QuizCategory::getCategory)
-                    .collect(Collectors.toList());
+    // 여러 답변을 (사용자, 카테고리) 단위로 합쳐 한 트랜잭션에서 반영하고, 사용자마다 한 번씩 변경을 알린다.
+    @Override
+    @Transactional
+    public void updateUserCategoryPreferences(List<UserAnswer> userAnswers) {
+        Map<Integer, Map<String, int[]>> deltasByUser = new LinkedHashMap<>(); // userId -> category -> {answerCount, totalPreference}
 
+        for (UserAnswer userAnswer : userAnswers) {
+            List<String> categories = quizCategoryIndex.getCategories(userAnswer.getQuizId());
             if (categories.isEmpty()) {
-                throw new EntityNotFoundException();
+                log.error("No categories found for quiz ID: " + userAnswer.getQuizId());
+                continue;
             }
 
-            List<UserCategoryPreference> ucps = getUserCategoryPreferences(userId, categories);
-            for (UserCategoryPreference ucp : ucps) {
-                log.info("ucp for user ID: {} with category: {}", userId, ucp.getCategory());
+            Map<String, int[]> deltas = deltasByUser.computeIfAbsent(userAnswer.getUserId(), key -> new LinkedHashMap<>());
+            for (String category : categories) {
+                int[] delta = deltas.computeIfAbsent(category, key -> new int[2]);
+                delta[0] += 1;
+                delta[1] += userAnswer.getPreference();
             }
+        }
 
-            Integer preference = userAnswer.getPreference();
-            log.info("Updating preferences for user ID: {} with preference: {}", userId, preference);
-
-            updatePreferences(ucps, preference);
-            log.info("User category preferences updated for user ID: {}", userId);
-
-        } catch (EntityNotFoundException e) {
-            log.error("No categories found for quiz ID: " + userAnswer.getQuizId());
-        } catch (Exception e) {
-            log.error("Error updating user category preference", e);
+        if (deltasByUser.isEmpty()) {
+            return;
         }
-    }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public List<UserCategoryPreference> getUserCategoryPreferences(Integer userId, List<String> categories) {
-        List<UserCategoryPreference> preferences = new ArrayList<>();
-        for (String category : categories) {
-            UserCategoryPreferenceId id = new UserCategoryPreferenceId(userId, category);
-            UserCategoryPreference preference = userCategoryPreferenceRepository.findById(id).orElseGet(() -> {
-                UserCategoryPreference newPreference = UserCategoryPreference.builder()
+        List<UserCategoryPreferenceDeltaDto> rows = new ArrayList<>();
+        deltasByUser.forEach((userId, deltas) -> deltas.forEach((category, delta) -> rows.add(
+                UserCategoryPreferenceDeltaDto.builder()
                         .userId(userId)
                         .category(category)
-                        .answerCount(0)
-                        .totalPreference(0)
-                        .commentCount(0)
-                        .registrationCount(0)
-                        .build();
-                return userCategoryPreferenceRepository.save(newPreference);
-            });
-            preferences.add(preference);
-        }
-        return preferences;
-    }
+                        .answerCount(delta[0])
+                        .totalPreference(delta[1])
+                        .build())));
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void updatePreferences(List<UserCategoryPreference> preferences, Integer preference) {
-        for (UserCategoryPreference userCategoryPreference : preferences) {
-            UserCategoryPreference updatedPreference = UserCategoryPreference.builder()
-                    .userId(userCategoryPreference.getUserId())
-                    .category(userCategoryPreference.getCategory())
-                    .answerCount(userCategoryPreference.getAnswerCount() + 1)
-                    .totalPreference(userCategoryPreference.getTotalPreference() + preference)
-                    .commentCount(userCategoryPreference.getCommentCount())
-                    .registrationCount(userCategoryPreference.getRegistrationCount())
-                    .build();
-            log.info("Updating preference: userId: {}, category: {}", updatedPreference.getUserId(), updatedPreference.getCategory());
-            userCategoryPreferenceRepository.save(updatedPreference);
-            log.info("success update UCP: userId: {}, category: {}", updatedPreference.getUserId(), updatedPreference.getCategory());
-        }
+        userCategoryPreferenceJdbcRepository.addAnswers(rows);
+        log.info("User category preferences updated: {} answers, {} users, {} rows", userAnswers.size(), deltasByUser.size(), rows.size());
+
+        // JDBC로 갱신하므로 엔티티 리스너가 동작하지 않아 여기서 직접 알린다.
+        // 같은 트랜잭션으로 아웃박스에 기록하므로 선호도 반영과 이벤트가 함께 커밋된다.
+        boolean perUserEvent = "binary".equalsIgnoreCase(eventFormat);
+        deltasByUser.forEach((userId, deltas) -> {
+            if (perUserEvent) {
+                // 카테고리 행마다가 아니라 사용자당 한 번만 알린다.
+                outboxEventPublisher.publish(ChangeEvent.builder()
+                        .type(EventType.USER_CATEGORY_PREFERENCES_CHANGED)
+                        .userId(userId)
+                        .categories(List.copyOf(deltas.keySet()))
+                        .build());
+            } else {
+                deltas.keySet().forEach(category -> outboxEventPublisher.publish(ChangeEvent.builder()
+                        .type(EventType.USER_CATEGORY_PREFERENCE_CHANGED)
+                        .userId(userId)
+                        .categories(List.of(category))
+                        .build()));
+            }
+        });
     }
 }
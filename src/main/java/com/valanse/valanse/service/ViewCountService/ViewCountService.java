@@ -0,0 +1,16 @@
+package com.valanse.valanse.service.ViewCountService;
+
+public interface ViewCountService {
+
+    void increaseQuizView(Integer quizId);
+
+    void increaseNoticeView(Integer noticeId);
+
+    long getPendingQuizViews(Integer quizId); // 아직 DB에 반영되지 않은 퀴즈 조회수
+
+    long getPendingNoticeViews(Integer noticeId); // 아직 DB에 반영되지 않은 공지사항 조회수
+
+    void removeQuiz(Integer quizId);
+
+    void flush(); // 누적된 조회수를 DB에 반영
+}
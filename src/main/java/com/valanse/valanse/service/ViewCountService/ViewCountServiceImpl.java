@@ -0,0 +1,131 @@
+package com.valanse.valanse.service.ViewCountService;
+
+import com.valanse.valanse.redis.service.QuizDtoCache;
+import com.valanse.valanse.repository.jdbc.ViewCountJdbcRepository;
+import com.valanse.valanse.service.QuizService.QuizSuggestIndex;
+import com.valanse.valanse.service.TrendingService.TrendingService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 조회수 증가를 요청마다 UPDATE 하지 않고 메모리에 모아두었다가 주기적으로 한 번에 반영한다.
+ * 같은 행에 대한 UPDATE가 줄을 서며 행 잠금을 기다리던 문제를 없애기 위함이다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountServiceImpl implements ViewCountService {
+
+    private final ViewCountJdbcRepository viewCountJdbcRepository;
+    private final QuizDtoCache quizDtoCache;
+    private final QuizSuggestIndex quizSuggestIndex;
+    private final TrendingService trendingService;
+
+    // 엔티티 식별자 -> 아직 반영되지 않은 조회수. 카운터는 지우지 않고 재사용하여 증가분 유실을 막는다.
+    private final Map<Integer, LongAdder> quizViews = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> noticeViews = new ConcurrentHashMap<>();
+
+    @Override
+    public void increaseQuizView(Integer quizId) {
+        quizViews.computeIfAbsent(quizId, id -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void increaseNoticeView(Integer noticeId) {
+        noticeViews.computeIfAbsent(noticeId, id -> new LongAdder()).increment();
+    }
+
+    @Override
+    public long getPendingQuizViews(Integer quizId) {
+        LongAdder adder = quizViews.get(quizId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Override
+    public long getPendingNoticeViews(Integer noticeId) {
+        LongAdder adder = noticeViews.get(noticeId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Override
+    public void removeQuiz(Integer quizId) {
+        quizViews.remove(quizId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${valanse.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        // 캐시된 퀴즈는 반영 전 조회수에 대기 중인 증가분을 더해 보여주므로, 대기분을 빼기 전에 캐시부터 바로 지운다.
+        Map<Integer, Long> quizDeltas = flush(quizViews, viewCountJdbcRepository::increaseQuizViewCounts, "quiz",
+                deltas -> afterFlush("quiz cache", () -> quizDtoCache.invalidate(deltas.keySet())));
+        if (!quizDeltas.isEmpty()) {
+            // DB 반영이 끝난 뒤의 후속 처리. 여기서 실패해도 이미 반영된 증가분은 되돌리지 않는다.
+            afterFlush("suggest index", () -> quizSuggestIndex.addViews(quizDeltas));
+            afterFlush("trending", () -> trendingService.recordViews(quizDeltas));
+        }
+        flush(noticeViews, viewCountJdbcRepository::increaseNoticeViews, "notice", deltas -> {});
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending view counts before shutdown");
+        flush();
+    }
+
+    // 반영한 증가분을 돌려준다. 반영할 것이 없거나 실패하면 빈 맵
+    // 증가분은 커밋되고 beforeRelease까지 끝난 뒤에야 대기분에서 빼므로, 그 전까지 조회하면 반영 전 값에 대기분이 더해져 보인다.
+    private Map<Integer, Long> flush(Map<Integer, LongAdder> counters, Consumer<Map<Integer, Long>> writer, String target,
+                                     Consumer<Map<Integer, Long>> beforeRelease) {
+        Map<Integer, Long> deltas = new HashMap<>();
+
+        counters.forEach((id, adder) -> {
+            long delta = adder.sum();
+            if (delta > 0) {
+                deltas.put(id, delta);
+            }
+        });
+
+        if (deltas.isEmpty()) {
+            return deltas;
+        }
+
+        try {
+            writer.accept(deltas);
+        } catch (Exception e) {
+            // 반영에 실패한 증가분은 대기분에 그대로 남아 다음 주기에 다시 시도한다. 한 트랜잭션이므로 일부만 반영된 경우는 없다.
+            log.error("Failed to flush {} {} view counters", deltas.size(), target, e);
+            return Map.of();
+        }
+
+        try {
+            beforeRelease.accept(deltas);
+        } finally {
+            // reset 대신 읽은 만큼만 빼서, 그 사이 들어온 증가분은 다음 주기로 넘긴다. 삭제된 퀴즈의 카운터는 이미 없다.
+            deltas.forEach((id, delta) -> {
+                LongAdder adder = counters.get(id);
+                if (adder != null) {
+                    adder.add(-delta);
+                }
+            });
+        }
+        log.debug("Flushed {} {} view counters", deltas.size(), target);
+        return deltas;
+    }
+
+    private void afterFlush(String target, Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("Failed to apply flushed view counts to {}: {}", target, e.getMessage());
+        }
+    }
+}
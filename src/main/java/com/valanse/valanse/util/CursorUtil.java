@@ -0,0 +1,41 @@
+package com.valanse.valanse.util;
+
+import com.valanse.valanse.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * 키셋 페이지네이션에 사용하는 불투명(opaque) 커서를 인코딩/디코딩한다.
+ * 커서는 마지막으로 내려준 행의 정렬 키 값들을 '|'로 이어 붙인 뒤 URL-safe Base64로 감싼 문자열이다.
+ */
+public class CursorUtil {
+
+    private static final String DELIMITER = "|";
+
+    public static String encode(Object... values) {
+        String raw = Arrays.stream(values)
+                .map(String::valueOf)
+                .collect(Collectors.joining(DELIMITER));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedSize) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor, e);
+        }
+
+        String[] values = raw.split("\\" + DELIMITER, -1);
+        if (values.length != expectedSize) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,37 @@
+package com.valanse.valanse.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+public class HashUtil {
+
+    // 토큰처럼 그대로 키에 넣기 곤란한 값을 짧은 키로 바꾼다. (URL-safe Base64, 패딩 없음)
+    public static String sha256(String value) {
+        byte[] digest = newSha256().digest(value.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    // 스트림을 끝까지 읽으며 SHA-256을 구한다. 내용 전체를 메모리에 올리지 않는다. (16진수 소문자)
+    public static String sha256Hex(InputStream inputStream) throws IOException {
+        MessageDigest digest = newSha256();
+        try (InputStream digestStream = new DigestInputStream(inputStream, digest)) {
+            digestStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.valanse.valanse.util;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 점수가 높은 값부터 접두사로 찾는 압축(radix) 트라이. 스레드 안전하다.
+ * 각 노드가 자기 서브트리의 상위 topK개를 미리 들고 있어, 조회는 접두사 길이만큼 내려가는 것으로 끝난다.
+ *
+ * 값마다 키는 하나이며, 같은 키에 여러 값이 있을 수 있다.
+ * 점수가 오르면 경로의 목록에 끼워 넣기만 하고, 내려가거나 값이 빠질 때만 경로를 아래에서부터 다시 계산한다.
+ */
+public class PrefixTrie<T> {
+
+    private final int topK;
+    private final Node<T> root = new Node<>("");
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    // 점수 내림차순으로 최대 limit(topK 이하)개
+    public List<T> top(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node<T> node = findPrefixNode(prefix);
+            if (node == null) {
+                return List.of();
+            }
+            return node.top.stream()
+                    .limit(Math.min(limit, topK))
+                    .map(Entry::value)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OptionalLong getScore(T value) {
+        lock.readLock().lock();
+        try {
+            Entry<T> entry = entries.get(value);
+            return entry == null ? OptionalLong.empty() : OptionalLong.of(entry.score());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 새 값을 넣거나, 이미 있는 값의 키와 점수를 바꾼다. 빈 키는 무시한다.
+    public void put(String key, T value, long score) {
+        if (key == null || key.isEmpty()) {
+            remove(value);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Entry<T> previous = entries.get(value);
+            if (previous != null && previous.key().equals(key)) {
+                updateScore(previous, score);
+                return;
+            }
+            if (previous != null) {
+                removeEntry(previous);
+            }
+
+            Entry<T> entry = new Entry<>(value, key, score);
+            entries.put(value, entry);
+            List<Node<T>> path = insertPath(key);
+            path.get(path.size() - 1).values.put(value, entry);
+            for (Node<T> node : path) {
+                offer(node, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 없는 값이면 아무것도 하지 않는다.
+    public void addScore(T value, long delta) {
+        lock.writeLock().lock();
+        try {
+            Entry<T> entry = entries.get(value);
+            if (entry != null) {
+                updateScore(entry, entry.score() + delta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(T value) {
+        lock.writeLock().lock();
+        try {
+            Entry<T> entry = entries.get(value);
+            if (entry != null) {
+                removeEntry(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void updateScore(Entry<T> previous, long score) {
+        Entry<T> entry = new Entry<>(previous.value(), previous.key(), score);
+        entries.put(entry.value(), entry);
+
+        List<Node<T>> path = findPath(entry.key());
+        path.get(path.size() - 1).values.put(entry.value(), entry);
+        if (score >= previous.score()) {
+            for (Node<T> node : path) {
+                offer(node, entry);
+            }
+        } else {
+            recompute(path);
+        }
+    }
+
+    private void removeEntry(Entry<T> entry) {
+        entries.remove(entry.value());
+
+        List<Node<T>> path = findPath(entry.key());
+        Node<T> terminal = path.get(path.size() - 1);
+        terminal.values.remove(entry.value());
+
+        // 비게 된 노드는 떼어내고, 값 없이 자식이 하나만 남은 노드는 자식과 합쳐 압축을 유지한다.
+        if (terminal.values.isEmpty() && terminal.children.isEmpty()) {
+            path.remove(path.size() - 1);
+            Node<T> parent = path.get(path.size() - 1);
+            parent.children.remove(terminal.label.charAt(0));
+            mergeWithOnlyChild(parent);
+        } else {
+            mergeWithOnlyChild(terminal);
+        }
+        recompute(path);
+    }
+
+    private void mergeWithOnlyChild(Node<T> node) {
+        if (node == root || !node.values.isEmpty() || node.children.size() != 1) {
+            return;
+        }
+        Node<T> child = node.children.values().iterator().next();
+        node.label = node.label + child.label;
+        node.children = child.children;
+        node.values = child.values;
+        node.top = child.top;
+    }
+
+    // 경로의 노드를 잎에서부터 자기 값과 자식들의 상위 목록으로 다시 계산한다.
+    private void recompute(List<Node<T>> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<T> node = path.get(i);
+            List<Entry<T>> candidates = new ArrayList<>(node.values.values());
+            node.children.values().forEach(child -> candidates.addAll(child.top));
+            candidates.sort(Entry.BY_SCORE);
+            node.top = List.copyOf(candidates.subList(0, Math.min(topK, candidates.size())));
+        }
+    }
+
+    private void offer(Node<T> node, Entry<T> entry) {
+        List<Entry<T>> top = node.top;
+        boolean present = top.stream().anyMatch(candidate -> candidate.value().equals(entry.value()));
+        if (!present && top.size() >= topK && Entry.BY_SCORE.compare(entry, top.get(top.size() - 1)) > 0) {
+            return;
+        }
+
+        List<Entry<T>> updated = new ArrayList<>(top.size() + 1);
+        for (Entry<T> candidate : top) {
+            if (!candidate.value().equals(entry.value())) {
+                updated.add(candidate);
+            }
+        }
+        updated.add(entry);
+        updated.sort(Entry.BY_SCORE);
+        node.top = List.copyOf(updated.subList(0, Math.min(topK, updated.size())));
+    }
+
+    // 키가 끝나는 노드까지의 경로를 만들며 반환한다. 필요하면 기존 간선을 나눈다.
+    private List<Node<T>> insertPath(String key) {
+        List<Node<T>> path = new ArrayList<>();
+        path.add(root);
+
+        Node<T> node = root;
+        int index = 0;
+        while (index < key.length()) {
+            Node<T> child = node.children.get(key.charAt(index));
+            if (child == null) {
+                child = new Node<>(key.substring(index));
+                node.children.put(key.charAt(index), child);
+                path.add(child);
+                return path;
+            }
+
+            int common = commonPrefixLength(child.label, key, index);
+            if (common < child.label.length()) {
+                Node<T> split = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                split.top = child.top;
+                node.children.put(split.label.charAt(0), split);
+                child = split;
+            }
+
+            path.add(child);
+            node = child;
+            index += common;
+        }
+        return path;
+    }
+
+    // 이미 들어 있는 키의 경로
+    private List<Node<T>> findPath(String key) {
+        List<Node<T>> path = new ArrayList<>();
+        path.add(root);
+
+        Node<T> node = root;
+        int index = 0;
+        while (index < key.length()) {
+            node = node.children.get(key.charAt(index));
+            path.add(node);
+            index += node.label.length();
+        }
+        return path;
+    }
+
+    // 접두사가 간선 중간에서 끝나면 그 간선 아래 노드가 답이다.
+    private Node<T> findPrefixNode(String prefix) {
+        Node<T> node = root;
+        int index = 0;
+        while (index < prefix.length()) {
+            Node<T> child = node.children.get(prefix.charAt(index));
+            if (child == null) {
+                return null;
+            }
+
+            int common = commonPrefixLength(child.label, prefix, index);
+            if (index + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            index += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private record Entry<T>(T value, String key, long score) {
+
+        // 점수 내림차순, 같으면 키가 짧은(더 정확히 일치하는) 것부터
+        private static final Comparator<Entry<?>> BY_SCORE = Comparator.<Entry<?>>comparingLong(Entry::score).reversed()
+                .thenComparingInt(entry -> entry.key().length());
+    }
+
+    private static final class Node<T> {
+        private String label; // 부모에서 이 노드로 오는 간선의 문자열
+        private Map<Character, Node<T>> children = new HashMap<>();
+        private Map<T, Entry<T>> values = new HashMap<>();
+        private List<Entry<T>> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -56,6 +56,8 @@ CREATE TABLE `quiz`
     `created_at`     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '퀴즈 생성 시간',
     `updated_at`     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '퀴즈 수정 시간',
     PRIMARY KEY (`quiz_id`),
+    INDEX `idx_quiz_created_at_quiz_id` (`created_at`, `quiz_id`),
+    INDEX `idx_quiz_preference_quiz_id` (`preference`, `quiz_id`),
     FOREIGN KEY (`author_user_id`) REFERENCES `user` (`user_id`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
@@ -146,12 +148,27 @@ CREATE TABLE category_statistics
     category       VARCHAR(100) NOT NULL COMMENT '카테고리 식별자',
     total_answers  INT          NOT NULL DEFAULT 0 COMMENT '해당 카테고리에서 전체 사용자가 푼 문제 수',
     total_score    INT          NOT NULL DEFAULT 0 COMMENT '해당 카테고리에서 전체 사용자의 총 선호도 점수',
+    total_score_squares BIGINT  NOT NULL DEFAULT 0 COMMENT '선호도 점수 제곱의 합, 분산 계산용',
+    min_score      INT          NULL COMMENT '해당 카테고리에서 가장 낮은 선호도 점수',
+    max_score      INT          NULL COMMENT '해당 카테고리에서 가장 높은 선호도 점수',
     avg_preference FLOAT AS (total_score / total_answers) STORED COMMENT '해당 카테고리에서 전체 사용자의 평균 선호도',
     PRIMARY KEY (category)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_general_ci;
 
+CREATE TABLE category_statistics_hourly
+(
+    category      VARCHAR(100) NOT NULL COMMENT '카테고리 식별자',
+    bucket_hour   DATETIME     NOT NULL COMMENT '집계 구간 시작 시각 (정시)',
+    total_answers INT          NOT NULL DEFAULT 0 COMMENT '구간 동안의 답변 수',
+    total_score   INT          NOT NULL DEFAULT 0 COMMENT '구간 동안의 선호도 점수 합',
+    PRIMARY KEY (category, bucket_hour),
+    INDEX idx_category_statistics_hourly_bucket (bucket_hour)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
+
 CREATE TABLE favorite_category
 (
     user_id  INT AUTO_INCREMENT NOT NULL COMMENT '사용자 식별자',
@@ -164,11 +181,49 @@ CREATE TABLE favorite_category
 
 CREATE TABLE recommend_quiz
 (
-    user_id INT NOT NULL COMMENT '사용자 식별자',
-    quiz_id INT NOT NULL COMMENT '퀴즈 식별자',
-    PRIMARY KEY (user_id, quiz_id),
+    user_id    INT    NOT NULL COMMENT '사용자 식별자',
+    generation BIGINT NOT NULL DEFAULT 0 COMMENT '추천 세트 세대, recommend_generation의 현재 세대만 유효',
+    quiz_id    INT    NOT NULL COMMENT '퀴즈 식별자',
+    position   INT    NOT NULL DEFAULT 0 COMMENT '추천 순서',
+    PRIMARY KEY (user_id, generation, quiz_id),
     FOREIGN KEY (user_id) REFERENCES user (user_id) ON DELETE CASCADE,
     FOREIGN KEY (quiz_id) REFERENCES quiz (quiz_id) ON DELETE CASCADE
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_general_ci;
+
+CREATE TABLE recommend_generation
+(
+    user_id    INT    NOT NULL COMMENT '사용자 식별자',
+    generation BIGINT NOT NULL COMMENT '현재 유효한 추천 세트 세대',
+    PRIMARY KEY (user_id),
+    FOREIGN KEY (user_id) REFERENCES user (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
+
+CREATE TABLE event_outbox
+(
+    outbox_id  BIGINT AUTO_INCREMENT NOT NULL COMMENT '아웃박스 식별자',
+    event_type VARCHAR(100)          NOT NULL COMMENT '이벤트 종류',
+    payload    VARBINARY(8192)       NOT NULL COMMENT '바이너리로 인코딩한 이벤트 (ChangeEventCodec)',
+    created_at DATETIME(6)           NOT NULL COMMENT '이벤트 생성 시간',
+    sent_at    DATETIME(6)           NULL COMMENT 'Kafka 전송 완료 시간, 미전송이면 NULL',
+    PRIMARY KEY (outbox_id),
+    INDEX idx_event_outbox_sent_at (sent_at, outbox_id)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
+
+CREATE TABLE image_blob
+(
+    content_hash CHAR(64)     NOT NULL COMMENT '이미지 내용의 SHA-256 (16진수)',
+    object_key   VARCHAR(255) NOT NULL COMMENT 'S3 객체 키',
+    ref_count    INT          NOT NULL COMMENT '이 이미지를 가리키는 퀴즈 이미지 수',
+    size         BIGINT       NOT NULL COMMENT '파일 크기 (바이트)',
+    created_at   DATETIME     NOT NULL COMMENT '처음 업로드된 시간',
+    PRIMARY KEY (content_hash),
+    UNIQUE INDEX uk_image_blob_object_key (object_key)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
@@ -0,0 +1,30 @@
+-- 기존 DB의 recommend_quiz를 세대 단위 교체(ddl.sql의 recommend_quiz, recommend_generation)에 맞게 바꾼다.
+-- 새 버전을 배포하기 전에 한 번 실행한다. 기존 행은 세대 0이 되고, 세대 포인터가 없는 사용자는 세대 0을 읽는다.
+
+CREATE TABLE IF NOT EXISTS recommend_generation
+(
+    user_id    INT    NOT NULL COMMENT '사용자 식별자',
+    generation BIGINT NOT NULL COMMENT '현재 유효한 추천 세트 세대',
+    PRIMARY KEY (user_id),
+    FOREIGN KEY (user_id) REFERENCES user (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
+
+-- 기본 키의 첫 열이 그대로 user_id이므로 user_id 외래 키는 새 기본 키 인덱스를 쓴다.
+ALTER TABLE recommend_quiz
+    ADD COLUMN generation BIGINT NOT NULL DEFAULT 0 COMMENT '추천 세트 세대, recommend_generation의 현재 세대만 유효' AFTER user_id,
+    ADD COLUMN position   INT    NOT NULL DEFAULT 0 COMMENT '추천 순서' AFTER quiz_id,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (user_id, generation, quiz_id);
+
+-- 기존 추천에는 순서가 없었으므로 퀴즈 식별자 순서를 추천 순서로 채운다.
+UPDATE recommend_quiz rq
+    JOIN (SELECT user_id,
+                 quiz_id,
+                 ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY quiz_id) - 1 AS position
+          FROM recommend_quiz
+          WHERE generation = 0) ordered
+    ON ordered.user_id = rq.user_id AND ordered.quiz_id = rq.quiz_id
+SET rq.position = ordered.position
+WHERE rq.generation = 0;
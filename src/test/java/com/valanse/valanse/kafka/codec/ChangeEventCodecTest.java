@@ -0,0 +1,70 @@
+package com.valanse.valanse.kafka.codec;
+
+import com.valanse.valanse.kafka.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeEventCodecTest {
+
+	@Test
+	void roundTripsBinaryEvent() {
+		ChangeEvent event = ChangeEvent.builder()
+				.type(EventType.RECOMMEND_QUIZ_CHANGED)
+				.userId(300_000)
+				.categories(List.of("음식, 요리:한식", "여행"))
+				.quizIds(new int[]{1, 127, 128, 16_384, Integer.MAX_VALUE})
+				.build();
+
+		ChangeEvent decoded = ChangeEventCodec.decode(ChangeEventCodec.encode(event));
+
+		assertThat(decoded.getType()).isEqualTo(EventType.RECOMMEND_QUIZ_CHANGED);
+		assertThat(decoded.getUserId()).isEqualTo(300_000);
+		assertThat(decoded.getCategories()).containsExactly("음식, 요리:한식", "여행");
+		assertThat(decoded.getQuizIds()).containsExactly(1, 127, 128, 16_384, Integer.MAX_VALUE);
+	}
+
+	@Test
+	void readsLegacyStringEvents() {
+		ChangeEvent recommend = ChangeEventCodec.decode(
+				"RECOMMEND_QUIZ_CHANGED|userId:7,recommendedQuizIds:3,1,2".getBytes(StandardCharsets.UTF_8));
+		assertThat(recommend.getType()).isEqualTo(EventType.RECOMMEND_QUIZ_CHANGED);
+		assertThat(recommend.getUserId()).isEqualTo(7);
+		assertThat(recommend.getQuizIds()).containsExactly(3, 1, 2);
+
+		ChangeEvent favorite = ChangeEventCodec.decode(
+				"FAVORITE_CATEGORY_CHANGED|userId:7,category:a,b:c".getBytes(StandardCharsets.UTF_8));
+		assertThat(favorite.getType()).isEqualTo(EventType.FAVORITE_CATEGORY_CHANGED);
+		assertThat(favorite.getCategory()).isEqualTo("a,b:c");
+	}
+
+	@Test
+	void writesLegacyFormatReadableByLegacyReader() {
+		ChangeEvent event = ChangeEvent.builder()
+				.type(EventType.USER_CATEGORY_PREFERENCE_CHANGED)
+				.userId(42)
+				.categories(List.of("스포츠"))
+				.build();
+
+		String legacy = LegacyChangeEventFormat.write(event);
+
+		assertThat(legacy).isEqualTo("USER_CATEGORY_PREFERENCE_CHANGED|userId:42,category:스포츠");
+		assertThat(LegacyChangeEventFormat.read(legacy).getCategory()).isEqualTo("스포츠");
+	}
+
+	@Test
+	void keepsSeparatorInsideLegacyCategoryNames() {
+		ChangeEvent event = ChangeEvent.builder()
+				.type(EventType.USER_CATEGORY_PREFERENCES_CHANGED)
+				.userId(42)
+				.categories(List.of("음식;요리", "C:\\", "여행"))
+				.build();
+
+		ChangeEvent decoded = LegacyChangeEventFormat.read(LegacyChangeEventFormat.write(event));
+
+		assertThat(decoded.getCategories()).containsExactly("음식;요리", "C:\\", "여행");
+	}
+}
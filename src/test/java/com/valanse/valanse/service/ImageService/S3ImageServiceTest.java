@@ -0,0 +1,191 @@
+package com.valanse.valanse.service.ImageService;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.valanse.valanse.exception.S3Exception;
+import com.valanse.valanse.repository.jdbc.ImageBlobJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// 실제 S3 대신 객체를 메모리에 저장하는 AmazonS3 목과, image_blob 테이블 대신 메모리에 참조 수를 세는 저장소로 업로드 동작을 확인한다.
+class S3ImageServiceTest {
+
+	private static final String BUCKET = "valanse-test";
+	private static final String CLOUD_FRONT = "https://cdn.example.com/";
+
+	private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+	private AmazonS3 amazonS3;
+	private S3ImageService s3ImageService;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		amazonS3 = mock(AmazonS3.class);
+		when(amazonS3.putObject(eq(BUCKET), anyString(), any(InputStream.class), any(ObjectMetadata.class)))
+				.thenAnswer(invocation -> {
+					objects.put(invocation.getArgument(1), ((InputStream) invocation.getArgument(2)).readAllBytes());
+					return null;
+				});
+		doAnswer(invocation -> objects.remove(invocation.<String>getArgument(1)))
+				.when(amazonS3).deleteObject(eq(BUCKET), anyString());
+		when(amazonS3.doesObjectExist(eq(BUCKET), anyString()))
+				.thenAnswer(invocation -> objects.containsKey(invocation.<String>getArgument(1)));
+
+		s3ImageService = new S3ImageService(amazonS3, new InMemoryImageBlobRepository(),
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		ReflectionTestUtils.setField(s3ImageService, "bucket", BUCKET);
+		ReflectionTestUtils.setField(s3ImageService, "cloudFront", CLOUD_FRONT);
+		ReflectionTestUtils.setField(s3ImageService, "uploadThreads", 4);
+		ReflectionTestUtils.setField(s3ImageService, "uploadQueueCapacity", 10);
+		ReflectionTestUtils.setField(s3ImageService, "multipartThreshold", 8L * 1024 * 1024);
+		ReflectionTestUtils.setField(s3ImageService, "hashCacheSize", 100);
+		ReflectionTestUtils.setField(s3ImageService, "hashCacheTtlMillis", 60_000L);
+		s3ImageService.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		s3ImageService.shutdown();
+	}
+
+	@Test
+	void uploadsImagesConcurrentlyInRequestOrder() throws Exception {
+		// 두 업로드가 동시에 진행되어야만 장벽을 통과한다. 하나씩 올리면 시간 초과로 실패한다.
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		doAnswer(invocation -> {
+			barrier.await(5, TimeUnit.SECONDS);
+			objects.put(invocation.getArgument(1), ((InputStream) invocation.getArgument(2)).readAllBytes());
+			return null;
+		}).when(amazonS3).putObject(eq(BUCKET), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+
+		List<String> urls = s3ImageService.uploadImages(Arrays.asList(image("a.png", "A"), null, image("b.jpg", "B")));
+
+		assertThat(urls).hasSize(3);
+		assertThat(urls.get(0)).startsWith(CLOUD_FRONT).endsWith(".png");
+		assertThat(urls.get(1)).isNull();
+		assertThat(urls.get(2)).startsWith(CLOUD_FRONT).endsWith(".jpg");
+		assertThat(objects.get(urls.get(0).substring(CLOUD_FRONT.length()))).isEqualTo("A".getBytes());
+		assertThat(objects.get(urls.get(2).substring(CLOUD_FRONT.length()))).isEqualTo("B".getBytes());
+	}
+
+	@Test
+	void removesUploadedImagesWhenAnotherUploadFails() {
+		doAnswer(invocation -> {
+			byte[] content = ((InputStream) invocation.getArgument(2)).readAllBytes();
+			if (new String(content).equals("broken")) {
+				throw new AmazonS3Exception("upload failed");
+			}
+			objects.put(invocation.getArgument(1), content);
+			return null;
+		}).when(amazonS3).putObject(eq(BUCKET), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+
+		assertThatThrownBy(() -> s3ImageService.uploadImages(List.of(image("a.png", "A"), image("b.png", "broken"))))
+				.isInstanceOf(S3Exception.class);
+
+		assertThat(objects).isEmpty();
+		verify(amazonS3, times(1)).deleteObject(eq(BUCKET), anyString());
+	}
+
+	@Test
+	void storesSameContentOnceAndDeletesItWithTheLastReference() {
+		String first = s3ImageService.uploadImage(image("a.png", "same"));
+		String second = s3ImageService.uploadImage(image("b.png", "same"));
+
+		assertThat(second).isEqualTo(first);
+		assertThat(objects).hasSize(1);
+		verify(amazonS3, times(1)).putObject(eq(BUCKET), anyString(), any(InputStream.class), any(ObjectMetadata.class));
+
+		s3ImageService.deleteImage(first);
+		assertThat(objects).hasSize(1);
+
+		s3ImageService.deleteImage(second);
+		assertThat(objects).isEmpty();
+	}
+
+	private static MockMultipartFile image(String filename, String content) {
+		return new MockMultipartFile("image", filename, "image/png", content.getBytes());
+	}
+
+	private static class InMemoryImageBlobRepository extends ImageBlobJdbcRepository {
+
+		private final Map<String, String> objectKeys = new ConcurrentHashMap<>();
+		private final Map<String, Integer> refCounts = new ConcurrentHashMap<>();
+
+		InMemoryImageBlobRepository() {
+			super(null);
+		}
+
+		@Override
+		public synchronized boolean incrementRefCount(String contentHash) {
+			return refCounts.computeIfPresent(contentHash, (hash, count) -> count + 1) != null;
+		}
+
+		@Override
+		public synchronized boolean insertOrIncrementRefCount(String contentHash, String objectKey, long size) {
+			if (incrementRefCount(contentHash)) {
+				return false;
+			}
+			objectKeys.put(contentHash, objectKey);
+			refCounts.put(contentHash, 1);
+			return true;
+		}
+
+		@Override
+		public Optional<String> findObjectKey(String contentHash) {
+			return Optional.ofNullable(objectKeys.get(contentHash));
+		}
+
+		@Override
+		public synchronized Optional<Integer> findRefCountForUpdate(String objectKey) {
+			return hashOf(objectKey).map(refCounts::get);
+		}
+
+		@Override
+		public synchronized void decrementRefCount(String objectKey) {
+			hashOf(objectKey).ifPresent(hash -> refCounts.computeIfPresent(hash, (key, count) -> count - 1));
+		}
+
+		@Override
+		public synchronized void deleteByObjectKey(String objectKey) {
+			hashOf(objectKey).ifPresent(hash -> {
+				objectKeys.remove(hash);
+				refCounts.remove(hash);
+			});
+		}
+
+		@Override
+		public synchronized void releaseFailedUpload(String contentHash) {
+			if (refCounts.computeIfPresent(contentHash, (hash, count) -> count > 1 ? count - 1 : null) == null) {
+				objectKeys.remove(contentHash);
+			}
+		}
+
+		private Optional<String> hashOf(String objectKey) {
+			return objectKeys.entrySet().stream()
+					.filter(entry -> entry.getValue().equals(objectKey))
+					.map(Map.Entry::getKey)
+					.findFirst();
+		}
+	}
+}
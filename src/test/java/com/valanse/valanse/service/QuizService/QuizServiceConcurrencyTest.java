@@ -0,0 +1,123 @@
+package com.valanse.valanse.service.QuizService;
+
+import com.valanse.valanse.dto.UserAnswerDto;
+import com.valanse.valanse.service.CategoryStatisticsService.CategoryStatisticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class QuizServiceConcurrencyTest {
+
+	private static final int ANSWERERS = 64;
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private CategoryStatisticsService categoryStatisticsService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<Integer> userIds = new ArrayList<>();
+	private Integer quizId;
+	private String category;
+
+	@BeforeEach
+	void setUp() {
+		String runId = UUID.randomUUID().toString();
+		category = "concurrency-" + runId.substring(0, 8);
+
+		for (int i = 0; i < ANSWERERS; i++) {
+			userIds.add(insert("INSERT INTO user (oauth_provider, oauth_id, role, status) VALUES ('test', ?, 'user', 'active')",
+					runId + "-" + i));
+		}
+
+		quizId = insert("INSERT INTO quiz (author_user_id, content, option_a, option_b, view_count, preference) " +
+				"VALUES (?, 'concurrency test', 'A', 'B', 0, 0)", userIds.get(0));
+
+		jdbcTemplate.update("INSERT INTO quiz_category (quiz_id, category) VALUES (?, ?)", quizId, category);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM quiz WHERE quiz_id = ?", quizId); // user_answer, quiz_category 는 CASCADE
+		jdbcTemplate.update("DELETE FROM category_statistics WHERE category = ?", category);
+		jdbcTemplate.update("DELETE FROM category_statistics_hourly WHERE category = ?", category);
+		for (Integer userId : userIds) {
+			jdbcTemplate.update("DELETE FROM user WHERE user_id = ?", userId);
+		}
+	}
+
+	@Test
+	void parallelAnswersDoNotLoseIncrements() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(ANSWERERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+
+		int expectedScore = 0;
+		for (int i = 0; i < ANSWERERS; i++) {
+			int userId = userIds.get(i);
+			int preference = i % 5 + 1;
+			expectedScore += preference;
+
+			UserAnswerDto answer = UserAnswerDto.builder()
+					.quizId(quizId)
+					.selectedOption(i % 2 == 0 ? "a" : "b")
+					.preference(preference)
+					.build();
+
+			futures.add(executor.submit(() -> {
+				start.await();
+				quizService.saveDummyUserAnswer(userId, answer);
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		categoryStatisticsService.flush(); // 카테고리 통계는 메모리에 모았다가 반영된다
+
+		Integer quizPreference = jdbcTemplate.queryForObject("SELECT preference FROM quiz WHERE quiz_id = ?", Integer.class, quizId);
+		Integer answers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_answer WHERE quiz_id = ?", Integer.class, quizId);
+		Map<String, Object> statistics = jdbcTemplate.queryForMap(
+				"SELECT total_answers, total_score FROM category_statistics WHERE category = ?", category);
+
+		assertThat(quizPreference).isEqualTo(expectedScore);
+		assertThat(answers).isEqualTo(ANSWERERS);
+		assertThat(((Number) statistics.get("total_answers")).intValue()).isEqualTo(ANSWERERS);
+		assertThat(((Number) statistics.get("total_score")).intValue()).isEqualTo(expectedScore);
+		assertThat(categoryStatisticsService.getStatistics(category).getTotalAnswers()).isEqualTo(ANSWERERS);
+	}
+
+	private Integer insert(String sql, Object... args) {
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.update(connection -> {
+			PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			for (int i = 0; i < args.length; i++) {
+				statement.setObject(i + 1, args[i]);
+			}
+			return statement;
+		}, keyHolder);
+		return keyHolder.getKey().intValue();
+	}
+}
@@ -0,0 +1,64 @@
+package com.valanse.valanse.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+	@Test
+	void returnsTopValuesUnderPrefixByScore() {
+		PrefixTrie<Integer> trie = new PrefixTrie<>(2);
+		trie.put("balance", 1, 10);
+		trie.put("balloon", 2, 30);
+		trie.put("ball", 3, 20);
+		trie.put("bat", 4, 50);
+
+		assertThat(trie.top("bal", 10)).containsExactly(2, 3);
+		assertThat(trie.top("b", 10)).containsExactly(4, 2);
+		assertThat(trie.top("balance", 10)).containsExactly(1);
+		assertThat(trie.top("bx", 10)).isEmpty();
+	}
+
+	@Test
+	void reordersWhenScoresChange() {
+		PrefixTrie<Integer> trie = new PrefixTrie<>(2);
+		trie.put("balance", 1, 10);
+		trie.put("balloon", 2, 30);
+		trie.put("ball", 3, 20);
+
+		trie.addScore(1, 100);
+		assertThat(trie.top("bal", 10)).containsExactly(1, 2);
+
+		trie.addScore(1, -200);
+		assertThat(trie.top("bal", 10)).containsExactly(2, 3);
+	}
+
+	@Test
+	void removesValuesAndMovesChangedKeys() {
+		PrefixTrie<Integer> trie = new PrefixTrie<>(3);
+		trie.put("balance", 1, 10);
+		trie.put("balloon", 2, 30);
+		trie.put("ball", 3, 20);
+
+		trie.remove(2);
+		assertThat(trie.top("ball", 10)).containsExactly(3);
+
+		trie.put("cat", 3, 20);
+		assertThat(trie.top("ba", 10)).containsExactly(1);
+		assertThat(trie.top("c", 10)).containsExactly(3);
+		assertThat(trie.size()).isEqualTo(2);
+	}
+
+	@Test
+	void matchesHangulPrefixWhileTyping() {
+		PrefixTrie<Integer> trie = new PrefixTrie<>(5);
+		trie.put(HangulUtil.toJamoKey("밸런스 게임"), 1, 10);
+		trie.put(HangulUtil.toJamoKey("가나다"), 2, 5);
+
+		assertThat(trie.top(HangulUtil.toJamoKey("밸러"), 5)).containsExactly(1);
+		assertThat(trie.top(HangulUtil.toJamoKey("밸런ㅅ"), 5)).containsExactly(1);
+		assertThat(trie.top(HangulUtil.toJamoKey("간"), 5)).containsExactly(2);
+		assertThat(trie.top(HangulUtil.toJamoKey("밸런스  "), 5)).containsExactly(1);
+	}
+}